@@ -0,0 +1,331 @@
+package backend;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * AIMD concurrency limiter for outbound Groq requests
+ *
+ * The number of requests allowed in flight grows by one per window of
+ * successful requests and is halved when the upstream throttles us (429,
+ * 503) or a request times out. Requests over the limit wait in a bounded
+ * FIFO queue; once that is full, new requests are shed immediately.
+ *
+ * Rate-limit headers are honoured as well: a retry-after, or an exhausted
+ * x-ratelimit-remaining-requests/-tokens budget, pauses all dispatch until
+ * the upstream says it will accept requests again.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    // A single misbehaving header should not stall every search for long
+    private static final long MAX_PAUSE_MILLIS = 60_000;
+
+    // Several requests in flight usually get throttled together; count that
+    // as one overload signal rather than halving once per response
+    private static final long DECREASE_COOLDOWN_MILLIS = 1_000;
+
+    private static final Pattern DURATION_PART = Pattern.compile("(\\d+(?:\\.\\d+)?)(ms|h|m|s)");
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+
+    // Guarded by this
+    private double limit;
+    private int inFlight;
+    private long pausedUntilNanos;
+    private long lastDecreaseNanos;
+    private boolean drainScheduled;
+    private final ArrayDeque<CompletableFuture<Permit>> waiters = new ArrayDeque<>();
+
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong shed = new AtomicLong();
+    private final AtomicLong pauses = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, int maxQueued) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.maxQueued = maxQueued;
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit));
+        this.pausedUntilNanos = System.nanoTime();
+        this.lastDecreaseNanos = pausedUntilNanos - TimeUnit.MILLISECONDS.toNanos(DECREASE_COOLDOWN_MILLIS);
+    }
+
+    /**
+     * Slot for one outbound request
+     * Exactly one of the outcome methods must be called when it finishes.
+     */
+    public class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        /** The request succeeded; may raise the limit */
+        public void success() {
+            if (release()) {
+                onSuccess();
+            }
+        }
+
+        /** The upstream rejected the request as over its rate limit */
+        public void throttled(long retryAfterMillis) {
+            if (release()) {
+                throttled.incrementAndGet();
+                onOverload(retryAfterMillis);
+            }
+        }
+
+        /** The request timed out or the connection failed under load */
+        public void dropped() {
+            if (release()) {
+                dropped.incrementAndGet();
+                onOverload(0);
+            }
+        }
+
+        /** The request failed for a reason that says nothing about load */
+        public void ignore() {
+            if (release()) {
+                drain();
+            }
+        }
+
+        private boolean release() {
+            if (!released.compareAndSet(false, true)) {
+                return false;
+            }
+            synchronized (AdaptiveConcurrencyLimiter.this) {
+                inFlight--;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Completes with a permit once a slot is free and no rate-limit pause
+     * is active, or fails straight away if the wait queue is full
+     */
+    public CompletableFuture<Permit> acquire() {
+        CompletableFuture<Permit> waiter;
+        synchronized (this) {
+            if (waiters.isEmpty() && canDispatch()) {
+                inFlight++;
+                acquired.incrementAndGet();
+                return CompletableFuture.completedFuture(new Permit());
+            }
+
+            if (waiters.size() >= maxQueued) {
+                shed.incrementAndGet();
+                CompletableFuture<Permit> rejected = new CompletableFuture<>();
+                rejected.completeExceptionally(new RejectedExecutionException(
+                    "Too many pending Groq requests (" + inFlight + " in flight, " + waiters.size() + " queued)"));
+                return rejected;
+            }
+
+            waiter = new CompletableFuture<>();
+            waiters.add(waiter);
+        }
+
+        scheduleDrainAfterPause();
+        return waiter;
+    }
+
+    /**
+     * Applies the upstream's rate-limit headers from any response
+     * Pauses dispatch when the request or token budget is used up
+     */
+    public void observe(HttpHeaders headers) {
+        long pauseMillis = 0;
+        if (isExhausted(headers, "x-ratelimit-remaining-requests")) {
+            pauseMillis = Math.max(pauseMillis, parseDuration(headers.firstValue("x-ratelimit-reset-requests")));
+        }
+        if (isExhausted(headers, "x-ratelimit-remaining-tokens")) {
+            pauseMillis = Math.max(pauseMillis, parseDuration(headers.firstValue("x-ratelimit-reset-tokens")));
+        }
+        if (pauseMillis > 0) {
+            pause(pauseMillis);
+        }
+    }
+
+    /**
+     * Delay requested by a retry-after header, in seconds or as an HTTP
+     * date, or 0 if there is none
+     */
+    public static long retryAfterMillis(HttpHeaders headers) {
+        Optional<String> value = headers.firstValue("retry-after");
+        if (!value.isPresent()) {
+            return 0;
+        }
+
+        String retryAfter = value.get().trim();
+        try {
+            return Math.max(0, (long) (Double.parseDouble(retryAfter) * 1000));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return 0;
+            }
+        }
+    }
+
+    private static boolean isExhausted(HttpHeaders headers, String name) {
+        Optional<String> remaining = headers.firstValue(name);
+        if (!remaining.isPresent()) {
+            return false;
+        }
+        try {
+            return Long.parseLong(remaining.get().trim()) <= 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses Groq's reset durations such as "2m59.56s", "7.66s" or "120ms"
+     */
+    static long parseDuration(Optional<String> value) {
+        if (!value.isPresent()) {
+            return 0;
+        }
+
+        Matcher matcher = DURATION_PART.matcher(value.get().trim());
+        double millis = 0;
+        while (matcher.find()) {
+            double amount = Double.parseDouble(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "h": millis += amount * 3_600_000; break;
+                case "m": millis += amount * 60_000; break;
+                case "s": millis += amount * 1_000; break;
+                default: millis += amount; break;
+            }
+        }
+        return (long) Math.ceil(millis);
+    }
+
+    private void onSuccess() {
+        synchronized (this) {
+            // Additive increase: roughly +1 once a full window has succeeded
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+        drain();
+    }
+
+    private void onOverload(long retryAfterMillis) {
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - lastDecreaseNanos >= TimeUnit.MILLISECONDS.toNanos(DECREASE_COOLDOWN_MILLIS)) {
+                // Multiplicative decrease
+                limit = Math.max(minLimit, limit / 2);
+                lastDecreaseNanos = now;
+            }
+        }
+
+        if (retryAfterMillis > 0) {
+            pause(retryAfterMillis);
+        } else {
+            drain();
+        }
+    }
+
+    private void pause(long millis) {
+        long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.min(millis, MAX_PAUSE_MILLIS));
+        synchronized (this) {
+            if (until - pausedUntilNanos <= 0) {
+                return;
+            }
+            pausedUntilNanos = until;
+        }
+        pauses.incrementAndGet();
+        scheduleDrainAfterPause();
+    }
+
+    private boolean canDispatch() {
+        return inFlight < (int) limit && System.nanoTime() - pausedUntilNanos >= 0;
+    }
+
+    private void scheduleDrainAfterPause() {
+        long delayNanos;
+        synchronized (this) {
+            delayNanos = pausedUntilNanos - System.nanoTime();
+            if (delayNanos <= 0 || drainScheduled) {
+                return;
+            }
+            drainScheduled = true;
+        }
+
+        CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            synchronized (this) {
+                drainScheduled = false;
+            }
+            drain();
+            // The pause may have been extended while we were waiting
+            scheduleDrainAfterPause();
+        });
+    }
+
+    private void drain() {
+        List<CompletableFuture<Permit>> ready = new ArrayList<>();
+        synchronized (this) {
+            while (!waiters.isEmpty() && canDispatch()) {
+                CompletableFuture<Permit> waiter = waiters.poll();
+                // Callers that gave up while queued do not take a slot
+                if (!waiter.isDone()) {
+                    inFlight++;
+                    acquired.incrementAndGet();
+                    ready.add(waiter);
+                }
+            }
+        }
+
+        // Complete outside the lock; dependent stages may run inline
+        for (CompletableFuture<Permit> waiter : ready) {
+            if (!waiter.complete(new Permit())) {
+                synchronized (this) {
+                    inFlight--;
+                }
+            }
+        }
+    }
+
+    public synchronized int getLimit() { return (int) limit; }
+    public synchronized int getInFlight() { return inFlight; }
+    public synchronized int getQueued() { return waiters.size(); }
+    public long getAcquired() { return acquired.get(); }
+    public long getThrottled() { return throttled.get(); }
+    public long getDropped() { return dropped.get(); }
+    public long getShed() { return shed.get(); }
+    public long getPauses() { return pauses.get(); }
+
+    public synchronized long getPausedMillisRemaining() {
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(pausedUntilNanos - System.nanoTime()));
+    }
+
+    public String getStats() {
+        return "AdaptiveConcurrencyLimiter{limit=" + getLimit() + " [" + minLimit + ".." + maxLimit + "]" +
+                ", inFlight=" + getInFlight() +
+                ", queued=" + getQueued() + "/" + maxQueued +
+                ", pausedMs=" + getPausedMillisRemaining() +
+                ", acquired=" + acquired.get() +
+                ", throttled=" + throttled.get() +
+                ", dropped=" + dropped.get() +
+                ", shed=" + shed.get() +
+                ", pauses=" + pauses.get() +
+                '}';
+    }
+}
\ No newline at end of file
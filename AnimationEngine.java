@@ -0,0 +1,230 @@
+package frontend;
+
+import javax.swing.*;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared frame clock for Swing animations
+ * One javax.swing.Timer drives every running animation, so animations cost
+ * no threads and their updates already run on the EDT. Each frame steps all
+ * tweens, then repaints their targets in a single pass.
+ *
+ * The clock only runs while something is animating. Starting an animation
+ * with the key of a running one replaces it, so a hover that is entered and
+ * left quickly does not leave two tweens fighting over the same card.
+ *
+ * Must be used from the EDT. Tunable with system properties:
+ *   ui.animation.frameMs    - frame interval (default 16, about 60 fps)
+ *   ui.animation.logStats   - print getStats() whenever the clock goes idle
+ */
+public class AnimationEngine {
+
+    /**
+     * One step of an animation, called once per frame on the EDT
+     */
+    public interface Tween {
+        /**
+         * Applies the animation at the given time since it started;
+         * returns false once it is finished
+         */
+        boolean update(long elapsedMs);
+    }
+
+    /**
+     * Handle for stopping a running animation
+     */
+    public final class Animation {
+        private final Object key;
+        private final JComponent target;
+        private final Tween tween;
+        private final long startNanos;
+        private final int frameMs;
+        private long lastFrame = -1;
+        private boolean cancelled;
+
+        private Animation(Object key, JComponent target, Tween tween, long startNanos, int frameMs) {
+            this.key = key;
+            this.target = target;
+            this.tween = tween;
+            this.startNanos = startNanos;
+            this.frameMs = frameMs;
+        }
+
+        public void cancel() {
+            if (!cancelled) {
+                cancelled = true;
+                remove(this);
+            }
+        }
+
+        public boolean isRunning() {
+            return !cancelled;
+        }
+    }
+
+    private static final int FRAME_MS = Math.max(1, Integer.getInteger("ui.animation.frameMs", 16));
+    private static final boolean LOG_STATS = Boolean.getBoolean("ui.animation.logStats");
+
+    private static final AnimationEngine SHARED = new AnimationEngine(FRAME_MS);
+
+    private final Timer clock;
+    private final List<Animation> running = new ArrayList<>();
+    private final Map<Object, Animation> byKey = new IdentityHashMap<>();
+
+    private long frames;
+    private long frameNanosTotal;
+    private long frameNanosMax;
+    private long started;
+    private long clockStarts;
+
+    public AnimationEngine(int frameMs) {
+        this.clock = new Timer(frameMs, e -> frame());
+        this.clock.setCoalesce(true);
+    }
+
+    public static AnimationEngine shared() {
+        return SHARED;
+    }
+
+    /**
+     * Runs a tween until it finishes, repainting target after every step
+     */
+    public Animation animate(JComponent target, Tween tween) {
+        return animate(null, target, tween);
+    }
+
+    /**
+     * Like animate(target, tween), but first cancels any running animation
+     * started with the same key
+     */
+    public Animation animate(Object key, JComponent target, Tween tween) {
+        return animate(key, target, 0, tween);
+    }
+
+    /**
+     * Like animate(key, target, tween), but steps and repaints at most once
+     * per frameMs, for animations whose content changes more slowly than
+     * the clock ticks; 0 means every tick
+     */
+    public Animation animate(Object key, JComponent target, int frameMs, Tween tween) {
+        if (key != null) {
+            Animation previous = byKey.get(key);
+            if (previous != null) {
+                previous.cancel();
+            }
+        }
+
+        Animation animation = new Animation(key, target, tween, System.nanoTime(), frameMs);
+        running.add(animation);
+        if (key != null) {
+            byKey.put(key, animation);
+        }
+        started++;
+
+        if (!clock.isRunning()) {
+            clockStarts++;
+            clock.start();
+        }
+        return animation;
+    }
+
+    private void remove(Animation animation) {
+        running.remove(animation);
+        if (animation.key != null && byKey.get(animation.key) == animation) {
+            byKey.remove(animation.key);
+        }
+    }
+
+    private void frame() {
+        long frameStart = System.nanoTime();
+
+        // Step every tween first, then paint all targets together
+        Set<JComponent> dirty = new LinkedHashSet<>();
+        for (Animation animation : new ArrayList<>(running)) {
+            if (animation.cancelled) {
+                continue;
+            }
+            long elapsedMs = (frameStart - animation.startNanos) / 1_000_000;
+            if (animation.frameMs > 0) {
+                // Nothing to do until this animation's next frame is due
+                long animationFrame = elapsedMs / animation.frameMs;
+                if (animationFrame == animation.lastFrame) {
+                    continue;
+                }
+                animation.lastFrame = animationFrame;
+            }
+            boolean more;
+            try {
+                more = animation.tween.update(elapsedMs);
+            } catch (RuntimeException e) {
+                System.err.println("Animation failed: " + e.getMessage());
+                more = false;
+            }
+            if (animation.target != null) {
+                dirty.add(animation.target);
+            }
+            if (!more) {
+                animation.cancel();
+            }
+        }
+
+        for (JComponent target : dirty) {
+            target.repaint();
+        }
+        if (!dirty.isEmpty()) {
+            // Lay out size changes first so the frame is painted once, correctly
+            RepaintManager repaintManager = RepaintManager.currentManager(dirty.iterator().next());
+            repaintManager.validateInvalidComponents();
+            repaintManager.paintDirtyRegions();
+        }
+
+        long frameNanos = System.nanoTime() - frameStart;
+        frames++;
+        frameNanosTotal += frameNanos;
+        frameNanosMax = Math.max(frameNanosMax, frameNanos);
+
+        if (running.isEmpty()) {
+            clock.stop();
+            if (LOG_STATS) {
+                System.out.println(getStats());
+            }
+        }
+    }
+
+    public int getActiveCount() {
+        return running.size();
+    }
+
+    public boolean isClockRunning() {
+        return clock.isRunning();
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    /**
+     * Average EDT time per frame, tween updates and painting included
+     */
+    public double getAverageFrameMillis() {
+        return frames == 0 ? 0 : frameNanosTotal / 1e6 / frames;
+    }
+
+    public double getMaxFrameMillis() {
+        return frameNanosMax / 1e6;
+    }
+
+    public String getStats() {
+        return String.format("AnimationEngine{active=%d, started=%d, clockStarts=%d, frames=%d, " +
+                "avgFrameMs=%.2f, maxFrameMs=%.2f, jvmThreads=%d}",
+            running.size(), started, clockStarts, frames,
+            getAverageFrameMillis(), getMaxFrameMillis(),
+            ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+}
\ No newline at end of file
@@ -1,10 +1,10 @@
-package backend;
-
-/**
- * Exception class for authentication-related errors
- */
-public class AuthException extends Exception {
-    public AuthException(String message) {
-        super(message);
-    }
+package backend;
+
+/**
+ * Exception class for authentication-related errors
+ */
+public class AuthException extends Exception {
+    public AuthException(String message) {
+        super(message);
+    }
 }
\ No newline at end of file
@@ -1,93 +1,212 @@
-package backend;
-
-import java.util.List;
-
-/**
- * Authentication service
- * Equivalent to the AuthContext in React
- */
-public class AuthService {
-    private User currentUser;
-    
-    public AuthService() {
-        this.currentUser = DataStorage.loadCurrentUser();
-    }
-    
-    public User getCurrentUser() {
-        return currentUser;
-    }
-    
-    public boolean login(String email, String password) throws AuthException {
-    
-        User user = MongoDBService.findUserByEmail(email);
-        if (user == null) {
-           
-            List<User> users = DataStorage.loadUsers();
-            for (User fileUser : users) {
-                if (fileUser.getEmail().equals(email) && fileUser.getPassword().equals(password)) {
-                    user = fileUser;
-                    break;
-                }
-            }
-        }
-        
-        if (user != null && user.getPassword().equals(password)) {
-            this.currentUser = user;
-            DataStorage.saveCurrentUser(user);
-            return true;
-        }
-        
-        throw new AuthException("Invalid credentials");
-    }
-    
-    public boolean signup(String email, String password, String name) throws AuthException {
-        
-        if (email == null || email.trim().isEmpty()) {
-            throw new AuthException("Email is required");
-        }
-        if (password == null || password.length() < 6) {
-            throw new AuthException("Password must be at least 6 characters");
-        }
-        if (name == null || name.trim().isEmpty()) {
-            throw new AuthException("Name is required");
-        }
-        
-        
-        List<User> users = DataStorage.loadUsers();
-        for (User user : users) {
-            if (user.getEmail().equals(email)) {
-                throw new AuthException("User already exists");
-            }
-        }
-        
-        // Create new user
-        User newUser = new User(email.trim(), password, name.trim());
-        
-        // Store in MongoDB for registration data (primary requirement)
-        boolean savedInMongo = MongoDBService.createUser(newUser);
-        if (savedInMongo) {
-            System.out.println("User registration data stored in MongoDB: " + MongoDBService.getCollectionInfo());
-        } else {
-            System.out.println("MongoDB storage failed, but continuing with file storage");
-        }
-        
-        // Also save in file storage for authentication purposes
-        users.add(newUser);
-        DataStorage.saveUsers(users);
-        
-        // Auto-login
-        this.currentUser = newUser;
-        DataStorage.saveCurrentUser(newUser);
-        
-        return true;
-    }
-    
-    public void logout() {
-        this.currentUser = null;
-        DataStorage.clearCurrentUser();
-    }
-    
-    public boolean isLoggedIn() {
-        return currentUser != null;
-    }
+package backend;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Authentication service
+ * Equivalent to the AuthContext in React
+ *
+ * Passwords are stored as PasswordHasher hashes; hashing and verification
+ * run on the bounded hashing executor. Plain-text passwords left from
+ * before hashing still log in and are rehashed on the way.
+ *
+ * Safe for concurrent use. A signup first claims its email in a concurrent
+ * map, so a second signup for the same address fails at once instead of
+ * racing; the write itself runs under one of LOCK_STRIPES locks chosen by
+ * email hash, so writes for different emails do not wait on each other.
+ * Logins take no locks.
+ */
+public class AuthService {
+    private static final int LOCK_STRIPES = 64;
+    
+    // Shared by every instance: they all write to the same stores
+    private static final ConcurrentHashMap<String, Boolean> SIGNUPS_IN_PROGRESS = new ConcurrentHashMap<>();
+    private static final Object[] WRITE_LOCKS = new Object[LOCK_STRIPES];
+    static {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            WRITE_LOCKS[i] = new Object();
+        }
+    }
+    
+    private final UserRepository userRepository;
+    private volatile User currentUser;
+    
+    public AuthService() {
+        this(DataStorage.getUserRepository());
+    }
+    
+    public AuthService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        this.currentUser = DataStorage.loadCurrentUser();
+    }
+    
+    public User getCurrentUser() {
+        return currentUser;
+    }
+    
+    /**
+     * Logs in on the calling thread, which waits only for the hashing
+     * executor. Nothing is queued on the tasks executor, so this is safe to
+     * call from one of its threads; UI code should use loginAsync.
+     */
+    public boolean login(String email, String password) throws AuthException {
+        User user = findForLogin(email);
+        boolean valid = await(PasswordHasher.verifyAsync(password, user == null ? null : user.getPassword()));
+        completeLogin(user, password, valid);
+        return true;
+    }
+    
+    /**
+     * Looks the user up on the tasks executor and checks the password on
+     * the hashing executor, without blocking the caller. Fails with
+     * AuthException for bad credentials, or RejectedExecutionException
+     * when too many logins are already being checked.
+     */
+    public CompletableFuture<User> loginAsync(String email, String password) {
+        CompletableFuture<User> lookup;
+        try {
+            lookup = CompletableFuture.supplyAsync(() -> findForLogin(email), BackendExecutors.tasks());
+        } catch (RejectedExecutionException e) {
+            // ABORT rejection is thrown from execute(); report it through the future
+            return CompletableFuture.failedFuture(e);
+        }
+        return lookup.thenCompose(user -> PasswordHasher.verifyAsync(password, user == null ? null : user.getPassword())
+            .thenApplyAsync(valid -> {
+                try {
+                    return completeLogin(user, password, valid);
+                } catch (AuthException e) {
+                    throw new CompletionException(e);
+                }
+            }, BackendExecutors.tasks()));
+    }
+    
+    private User completeLogin(User user, String password, boolean valid) throws AuthException {
+        if (!valid) {
+            throw new AuthException("Invalid credentials");
+        }
+        if (PasswordHasher.needsRehash(user.getPassword())) {
+            upgradePassword(user, password);
+        }
+        this.currentUser = user;
+        DataStorage.saveCurrentUser(user);
+        return user;
+    }
+    
+    private User findForLogin(String email) {
+        User user = userRepository.findByEmail(email);
+        
+        // Users registered from another install are only in MongoDB; the
+        // lookup is cached and fails fast while MongoDB is down
+        if (user == null && !(userRepository instanceof MongoUserRepository)) {
+            user = MongoDBService.findUserByEmail(email);
+        }
+        return user;
+    }
+    
+    /**
+     * Replaces a plain-text or weaker hash in the repository, in the
+     * background; the login itself has already succeeded. Skipped if the
+     * stored password changed meanwhile, or the user is not in this
+     * repository (found through MongoDB).
+     */
+    private void upgradePassword(User user, String password) {
+        PasswordHasher.hashAsync(password)
+            .thenAcceptAsync(hash -> {
+                synchronized (writeLock(user.getEmail())) {
+                    User stored = userRepository.findByEmail(user.getEmail());
+                    if (stored != null && stored.getPassword().equals(user.getPassword())) {
+                        userRepository.put(new User(user.getEmail(), hash, user.getName()));
+                    }
+                }
+            }, BackendExecutors.tasks())
+            .exceptionally(e -> {
+                System.err.println("Could not upgrade password hash for " + user.getEmail() + ": " + e.getMessage());
+                return null;
+            });
+    }
+    
+    public boolean signup(String email, String password, String name) throws AuthException {
+        
+        if (email == null || email.trim().isEmpty()) {
+            throw new AuthException("Email is required");
+        }
+        if (password == null || password.length() < 6) {
+            throw new AuthException("Password must be at least 6 characters");
+        }
+        if (name == null || name.trim().isEmpty()) {
+            throw new AuthException("Name is required");
+        }
+        
+        
+        String key = email.trim();
+        if (SIGNUPS_IN_PROGRESS.putIfAbsent(key, Boolean.TRUE) != null) {
+            throw new AuthException("A signup for this email is already in progress");
+        }
+        try {
+            if (userRepository.findByEmail(key) != null) {
+                throw new AuthException("User already exists");
+            }
+            
+            // Create new user; only the hash is stored anywhere. Hashing is
+            // the slow part and runs before any lock is taken.
+            User newUser = new User(key, await(PasswordHasher.hashAsync(password)), name.trim());
+            
+            // Save in the user repository first; it is authoritative and
+            // durable once add returns. add is itself insert-if-absent, so
+            // a signup from another process still cannot be overwritten.
+            synchronized (writeLock(key)) {
+                if (!userRepository.add(newUser)) {
+                    throw new AuthException("User already exists");
+                }
+            }
+            
+            // Registration data goes to MongoDB in the background, unless the
+            // repository above already is MongoDB
+            if (!(userRepository instanceof MongoUserRepository)) {
+                MongoDBService.submitRegistration(newUser);
+            }
+            
+            // Auto-login
+            this.currentUser = newUser;
+            DataStorage.saveCurrentUser(newUser);
+            
+            return true;
+        } finally {
+            SIGNUPS_IN_PROGRESS.remove(key);
+        }
+    }
+    
+    public void logout() {
+        this.currentUser = null;
+        DataStorage.clearCurrentUser();
+    }
+    
+    public boolean isLoggedIn() {
+        return currentUser != null;
+    }
+    
+    private static Object writeLock(String email) {
+        return WRITE_LOCKS[(email.hashCode() & 0x7fffffff) % LOCK_STRIPES];
+    }
+    
+    /**
+     * Waits for an auth future, turning its failure back into AuthException
+     */
+    private static <T> T await(CompletableFuture<T> future) throws AuthException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof AuthException) {
+                throw (AuthException) cause;
+            }
+            if (cause instanceof RejectedExecutionException) {
+                throw new AuthException("Too many sign-in attempts right now, please try again");
+            }
+            throw e;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package backend;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Shared executors for blocking backend work
+ * Keeps network I/O and storage calls off ForkJoinPool.commonPool()
+ *
+ * Sizes and thread type can be tuned with system properties:
+ *   backend.executor.virtual        - use virtual threads when available (default true)
+ *   backend.executor.rejection      - CALLER_RUNS or ABORT when the network executor is saturated
+ *                                     (default CALLER_RUNS); tasks, hashing and networkFromUi()
+ *                                     always reject
+ *   backend.network.maxConcurrent   - concurrent Groq requests/parses (default 16)
+ *   backend.network.maxQueued       - waiting Groq tasks before rejecting (default 64)
+ *   backend.tasks.maxConcurrent     - concurrent login/signup/storage tasks (default 4)
+ *   backend.tasks.maxQueued         - waiting login/signup/storage tasks (default 32)
+ *   backend.hashing.maxConcurrent   - concurrent password hashes (default half the cores)
+ *   backend.hashing.maxQueued       - waiting password hashes before rejecting (default 64)
+ */
+public class BackendExecutors {
+
+    private static final boolean PREFER_VIRTUAL =
+        Boolean.parseBoolean(System.getProperty("backend.executor.virtual", "true"));
+
+    // CALLER_RUNS by default for network: most submissions happen when an
+    // HttpClient response or a retry delay completes a stage, and a rejection
+    // thrown on that thread would leave the dependent future hanging.
+    // Submissions that can come from the EDT use networkFromUi() instead
+    private static final InstrumentedExecutor.RejectionPolicy NETWORK_REJECTION =
+        InstrumentedExecutor.RejectionPolicy.valueOf(
+            System.getProperty("backend.executor.rejection", "CALLER_RUNS").trim().toUpperCase());
+
+    private static final InstrumentedExecutor NETWORK = new InstrumentedExecutor(
+        "network",
+        Integer.getInteger("backend.network.maxConcurrent", 16),
+        Integer.getInteger("backend.network.maxQueued", 64),
+        NETWORK_REJECTION,
+        PREFER_VIRTUAL);
+
+    private static final Executor NETWORK_FROM_UI = NETWORK.rejecting();
+
+    // Rejects rather than running on the caller: tasks are submitted from the
+    // EDT, and a saturated pool must not run a slow login there
+    private static final InstrumentedExecutor TASKS = new InstrumentedExecutor(
+        "tasks",
+        Integer.getInteger("backend.tasks.maxConcurrent", 4),
+        Integer.getInteger("backend.tasks.maxQueued", 32),
+        InstrumentedExecutor.RejectionPolicy.ABORT,
+        PREFER_VIRTUAL);
+
+    // CPU-bound, so platform threads and fewer of them than cores; a login
+    // burst is rejected rather than queued without bound
+    private static final InstrumentedExecutor HASHING = new InstrumentedExecutor(
+        "hashing",
+        Integer.getInteger("backend.hashing.maxConcurrent", Math.max(1, Runtime.getRuntime().availableProcessors() / 2)),
+        Integer.getInteger("backend.hashing.maxQueued", 64),
+        InstrumentedExecutor.RejectionPolicy.ABORT,
+        false);
+
+    /**
+     * Executor for Groq HTTP exchanges and response parsing
+     */
+    public static InstrumentedExecutor network() {
+        return NETWORK;
+    }
+
+    /**
+     * The network executor for submissions that may come from the EDT
+     * Throws RejectedExecutionException when saturated instead of running
+     * the task on the caller, whatever backend.executor.rejection says
+     */
+    public static Executor networkFromUi() {
+        return NETWORK_FROM_UI;
+    }
+
+    /**
+     * Executor for login, signup and other storage-bound work
+     */
+    public static InstrumentedExecutor tasks() {
+        return TASKS;
+    }
+
+    /**
+     * Executor for password hashing and verification
+     */
+    public static InstrumentedExecutor hashing() {
+        return HASHING;
+    }
+
+    public static String getStats() {
+        return NETWORK.getStats() + "\n" + TASKS.getStats() + "\n" + HASHING.getStats();
+    }
+
+    public static void shutdown() {
+        NETWORK.shutdown();
+        TASKS.shutdown();
+        HASHING.shutdown();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,267 @@
+package backend;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Minimal BSON encoder/decoder for the MongoDB wire client
+ * No external libraries used
+ *
+ * Documents are Maps (LinkedHashMap keeps field order, which matters for
+ * commands: the command name must come first). Supported types are
+ * double, string, document, array, binary, ObjectId (decoded as its hex
+ * string), boolean, UTC datetime (java.util.Date), null, int32, timestamp
+ * (decoded as Long) and int64.
+ */
+public class Bson {
+
+    private static final byte DOUBLE = 0x01;
+    private static final byte STRING = 0x02;
+    private static final byte DOCUMENT = 0x03;
+    private static final byte ARRAY = 0x04;
+    private static final byte BINARY = 0x05;
+    private static final byte OBJECT_ID = 0x07;
+    private static final byte BOOLEAN = 0x08;
+    private static final byte DATETIME = 0x09;
+    private static final byte NULL = 0x0A;
+    private static final byte INT32 = 0x10;
+    private static final byte TIMESTAMP = 0x11;
+    private static final byte INT64 = 0x12;
+
+    public static byte[] encode(Map<String, ?> document) {
+        Writer writer = new Writer();
+        writer.writeDocument(document);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes the document starting at the buffer's position and advances
+     * past it
+     */
+    public static Map<String, Object> decode(ByteBuffer buffer) {
+        ByteBuffer in = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return readDocument(in);
+    }
+
+    public static Map<String, Object> decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Convenience for building command documents in order:
+     * doc("find", "users", "limit", 1)
+     */
+    public static Map<String, Object> doc(Object... keysAndValues) {
+        if (keysAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("doc() needs key/value pairs");
+        }
+        Map<String, Object> document = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            document.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return document;
+    }
+
+    private static Map<String, Object> readDocument(ByteBuffer in) {
+        int start = in.position();
+        int length = in.getInt();
+        int end = start + length;
+        if (length < 5 || end > in.limit()) {
+            throw new IllegalArgumentException("Invalid BSON document length " + length);
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        while (true) {
+            byte type = in.get();
+            if (type == 0) {
+                break;
+            }
+            String name = readCString(in);
+            document.put(name, readValue(in, type));
+        }
+
+        if (in.position() != end) {
+            throw new IllegalArgumentException("BSON document length mismatch");
+        }
+        return document;
+    }
+
+    private static Object readValue(ByteBuffer in, byte type) {
+        switch (type) {
+            case DOUBLE:
+                return in.getDouble();
+            case STRING: {
+                int length = in.getInt();
+                byte[] bytes = new byte[length - 1];
+                in.get(bytes);
+                in.get(); // trailing NUL
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            case DOCUMENT:
+                return readDocument(in);
+            case ARRAY:
+                return new ArrayList<>(readDocument(in).values());
+            case BINARY: {
+                int length = in.getInt();
+                in.get(); // subtype
+                byte[] bytes = new byte[length];
+                in.get(bytes);
+                return bytes;
+            }
+            case OBJECT_ID: {
+                StringBuilder hex = new StringBuilder(24);
+                for (int i = 0; i < 12; i++) {
+                    hex.append(String.format("%02x", in.get() & 0xFF));
+                }
+                return hex.toString();
+            }
+            case BOOLEAN:
+                return in.get() != 0;
+            case DATETIME:
+                return new Date(in.getLong());
+            case NULL:
+                return null;
+            case INT32:
+                return in.getInt();
+            case TIMESTAMP:
+            case INT64:
+                return in.getLong();
+            default:
+                throw new IllegalArgumentException("Unsupported BSON type 0x" + Integer.toHexString(type & 0xFF));
+        }
+    }
+
+    private static String readCString(ByteBuffer in) {
+        int start = in.position();
+        while (in.get() != 0) {
+            // scan to the terminator
+        }
+        byte[] bytes = new byte[in.position() - start - 1];
+        in.position(start);
+        in.get(bytes);
+        in.get();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Little-endian output with back-patched document lengths
+     */
+    private static class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+        private final ByteBuffer scratch = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+        // (offset, length) of each finished document, applied in toByteArray
+        private final List<int[]> patches = new ArrayList<>();
+        private byte[] result;
+
+        void writeDocument(Map<String, ?> document) {
+            int start = out.size();
+            writeInt(0); // length, patched below
+            for (Map.Entry<String, ?> field : document.entrySet()) {
+                writeField(field.getKey(), field.getValue());
+            }
+            out.write(0);
+            patchLength(start);
+        }
+
+        private void writeArray(Collection<?> values) {
+            int start = out.size();
+            writeInt(0);
+            int index = 0;
+            for (Object value : values) {
+                writeField(Integer.toString(index++), value);
+            }
+            out.write(0);
+            patchLength(start);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void writeField(String name, Object value) {
+            if (value == null) {
+                out.write(NULL);
+                writeCString(name);
+            } else if (value instanceof String) {
+                out.write(STRING);
+                writeCString(name);
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                writeInt(bytes.length + 1);
+                out.write(bytes, 0, bytes.length);
+                out.write(0);
+            } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                out.write(INT32);
+                writeCString(name);
+                writeInt(((Number) value).intValue());
+            } else if (value instanceof Long) {
+                out.write(INT64);
+                writeCString(name);
+                writeLong((Long) value);
+            } else if (value instanceof Double || value instanceof Float) {
+                out.write(DOUBLE);
+                writeCString(name);
+                writeLong(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+            } else if (value instanceof Boolean) {
+                out.write(BOOLEAN);
+                writeCString(name);
+                out.write((Boolean) value ? 1 : 0);
+            } else if (value instanceof Date) {
+                out.write(DATETIME);
+                writeCString(name);
+                writeLong(((Date) value).getTime());
+            } else if (value instanceof byte[]) {
+                byte[] bytes = (byte[]) value;
+                out.write(BINARY);
+                writeCString(name);
+                writeInt(bytes.length);
+                out.write(0); // generic subtype
+                out.write(bytes, 0, bytes.length);
+            } else if (value instanceof Map) {
+                out.write(DOCUMENT);
+                writeCString(name);
+                writeDocument((Map<String, ?>) value);
+            } else if (value instanceof Collection) {
+                out.write(ARRAY);
+                writeCString(name);
+                writeArray((Collection<?>) value);
+            } else {
+                throw new IllegalArgumentException("Cannot encode " + value.getClass().getName() + " as BSON");
+            }
+        }
+
+        private void writeCString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.write(bytes, 0, bytes.length);
+            out.write(0);
+        }
+
+        private void writeInt(int value) {
+            scratch.clear();
+            scratch.putInt(value);
+            out.write(scratch.array(), 0, 4);
+        }
+
+        private void writeLong(long value) {
+            scratch.clear();
+            scratch.putLong(value);
+            out.write(scratch.array(), 0, 8);
+        }
+
+        private void patchLength(int start) {
+            // ByteArrayOutputStream has no random access, so the length is
+            // written into the final array instead
+            patches.add(new int[] {start, out.size() - start});
+        }
+
+        byte[] toByteArray() {
+            if (result == null) {
+                result = out.toByteArray();
+                ByteBuffer buffer = ByteBuffer.wrap(result).order(ByteOrder.LITTLE_ENDIAN);
+                for (int[] patch : patches) {
+                    buffer.putInt(patch[0], patch[1]);
+                }
+            }
+            return result;
+        }
+    }
+}
\ No newline at end of file
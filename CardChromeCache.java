@@ -0,0 +1,190 @@
+package frontend;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Cache of pre-rendered card backgrounds and borders
+ * Gradients, shadows and antialiased rounded rectangles are drawn once into
+ * an image per size, style and screen scale; later repaints only copy the
+ * image. A resized card simply asks for a new size, and the old image falls
+ * out of the LRU; a card whose size is being animated uses paintSnapped so
+ * the tween does not churn it. Everything is dropped when the look and feel changes.
+ *
+ * Images come from the screen's GraphicsConfiguration, so Java2D can keep
+ * them in video memory like a VolatileImage without the content-loss checks.
+ *
+ * Must be used from the EDT.
+ */
+public class CardChromeCache {
+
+    /**
+     * Draws the chrome for one size, in component coordinates
+     */
+    public interface Painter {
+        void paint(Graphics2D g, int width, int height);
+    }
+
+    private static class Key {
+        final Object style;
+        final int width;
+        final int height;
+        final double scaleX;
+        final double scaleY;
+
+        Key(Object style, int width, int height, double scaleX, double scaleY) {
+            this.style = style;
+            this.width = width;
+            this.height = height;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return width == other.width && height == other.height
+                && scaleX == other.scaleX && scaleY == other.scaleY
+                && style.equals(other.style);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(style, width, height, scaleX, scaleY);
+        }
+    }
+
+    private static final CardChromeCache SHARED = new CardChromeCache(Integer.getInteger("ui.chrome.maxImages", 64));
+
+    private final int maxImages;
+    private final Map<Key, Image> images;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CardChromeCache(int maxImages) {
+        this.maxImages = maxImages;
+        this.images = new LinkedHashMap<Key, Image>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Image> eldest) {
+                if (size() > CardChromeCache.this.maxImages) {
+                    evictions++;
+                    eldest.getValue().flush();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        // Colours and fonts may change with the theme
+        UIManager.addPropertyChangeListener(e -> {
+            if ("lookAndFeel".equals(e.getPropertyName())) {
+                clear();
+            }
+        });
+    }
+
+    public static CardChromeCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Paints the chrome for style at (x, y), rendering it first if this
+     * size and style have not been seen. style must have value equality and
+     * describe everything the painter draws.
+     */
+    public void paint(Graphics g, int x, int y, int width, int height, Object style, Painter painter) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.drawImage(imageFor(g2d, width, height, style, painter), x, y, width, height, null);
+    }
+
+    /**
+     * Like paint, but renders at the size rounded to a multiple of step and
+     * stretches the image to fit. For sizes that are being animated, so a
+     * tween reuses a few images instead of filling the cache with one per
+     * frame.
+     */
+    public void paintSnapped(Graphics g, int x, int y, int width, int height, int step, Object style, Painter painter) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        int snappedWidth = Math.max(step, Math.round(width / (float) step) * step);
+        int snappedHeight = Math.max(step, Math.round(height / (float) step) * step);
+        Graphics2D g2d = (Graphics2D) g;
+        Image image = imageFor(g2d, snappedWidth, snappedHeight, style, painter);
+        Object interpolation = g2d.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2d.drawImage(image, x, y, width, height, null);
+        if (interpolation != null) {
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        }
+    }
+
+    private Image imageFor(Graphics2D g2d, int width, int height, Object style, Painter painter) {
+        AffineTransform transform = g2d.getTransform();
+        double scaleX = transform.getScaleX();
+        double scaleY = transform.getScaleY();
+
+        Key key = new Key(style, width, height, scaleX, scaleY);
+        Image image = images.get(key);
+        if (image == null) {
+            misses++;
+            image = render(g2d.getDeviceConfiguration(), width, height, scaleX, scaleY, painter);
+            images.put(key, image);
+        } else {
+            hits++;
+        }
+        return image;
+    }
+
+    private static Image render(GraphicsConfiguration config, int width, int height,
+                                double scaleX, double scaleY, Painter painter) {
+        // Rendered at device resolution so HiDPI screens copy 1:1
+        int imageWidth = (int) Math.ceil(width * scaleX);
+        int imageHeight = (int) Math.ceil(height * scaleY);
+        BufferedImage image = config != null
+            ? config.createCompatibleImage(imageWidth, imageHeight, Transparency.TRANSLUCENT)
+            : new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_ARGB_PRE);
+
+        Graphics2D g = image.createGraphics();
+        try {
+            g.scale(scaleX, scaleY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            painter.paint(g, width, height);
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    public void clear() {
+        for (Image image : images.values()) {
+            image.flush();
+        }
+        images.clear();
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    public String getStats() {
+        return "CardChromeCache{size=" + images.size() + "/" + maxImages +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", evictions=" + evictions +
+                '}';
+    }
+}
\ No newline at end of file
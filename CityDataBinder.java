@@ -0,0 +1,274 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Binds CityData straight from JsonParser events
+ * Avoids building an intermediate Map/List tree for each response
+ * Also writes CityData back out as JSON in the same field layout
+ */
+public class CityDataBinder {
+
+    /**
+     * Reads one JSON object from the parser into a CityData.
+     * Unknown fields are skipped without being materialised.
+     */
+    public static CityData bind(JsonParser parser) {
+        return bind(parser, null);
+    }
+
+    /**
+     * Same as bind, but reports the CityData being filled to onFieldBound
+     * after each top-level field, so callers can render partial results
+     * while the rest of the document is still arriving
+     */
+    public static CityData bind(JsonParser parser, Consumer<CityData> onFieldBound) {
+        expectStartObject(parser);
+        return bindFields(parser, onFieldBound);
+    }
+
+    /**
+     * Same as bind, for when the parser has already returned the object's
+     * START_OBJECT event, e.g. while walking an array of city objects
+     */
+    public static CityData bindStarted(JsonParser parser) {
+        return bindFields(parser, null);
+    }
+
+    private static CityData bindFields(JsonParser parser, Consumer<CityData> onFieldBound) {
+        CityData cityData = new CityData();
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+            bindField(parser, parser.getString(), cityData);
+            if (onFieldBound != null) {
+                onFieldBound.accept(cityData);
+            }
+        }
+        return cityData;
+    }
+
+    /**
+     * Reads the value following a KEY_NAME event into the matching CityData field
+     */
+    private static void bindField(JsonParser parser, String key, CityData cityData) {
+        switch (key) {
+            case "city": cityData.setCity(readString(parser)); break;
+            case "state": cityData.setState(readString(parser)); break;
+            case "country": cityData.setCountry(readString(parser)); break;
+            case "description": cityData.setDescription(readString(parser)); break;
+            case "bestTimeToVisit": cityData.setBestTimeToVisit(readString(parser)); break;
+            case "weather": cityData.setWeather(readString(parser)); break;
+            case "touristSpots": cityData.setTouristSpots(readStringList(parser)); break;
+            case "famousFood": cityData.setFamousFood(readStringList(parser)); break;
+            case "restaurants": cityData.setRestaurants(readStringList(parser)); break;
+            case "streetFood": cityData.setStreetFood(readStringList(parser)); break;
+            case "attractions": cityData.setAttractions(readStringList(parser)); break;
+            case "themeParks": cityData.setThemeParks(readStringList(parser)); break;
+            case "festivals": cityData.setFestivals(readStringList(parser)); break;
+            case "hotels": cityData.setHotels(readStringList(parser)); break;
+            case "shoppingMarkets": cityData.setShoppingMarkets(readStringList(parser)); break;
+            case "nightlife": cityData.setNightlife(readStringList(parser)); break;
+            case "localTips": cityData.setLocalTips(readStringList(parser)); break;
+            case "languagesSpoken": cityData.setLanguagesSpoken(readStringList(parser)); break;
+            case "transportation": cityData.setTransportation(readTransportation(parser)); break;
+            case "emergencyContacts": cityData.setEmergencyContacts(readEmergencyContacts(parser)); break;
+            default:
+                skipValue(parser);
+        }
+    }
+
+    private static CityData.Transportation readTransportation(JsonParser parser) {
+        if (parser.next() != JsonParser.Event.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        CityData.Transportation transportation = new CityData.Transportation();
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+            switch (parser.getString()) {
+                case "local": transportation.setLocal(readStringList(parser)); break;
+                case "airport": transportation.setAirport(readString(parser)); break;
+                default: skipValue(parser);
+            }
+        }
+        return transportation;
+    }
+
+    private static CityData.EmergencyContacts readEmergencyContacts(JsonParser parser) {
+        if (parser.next() != JsonParser.Event.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        CityData.EmergencyContacts emergency = new CityData.EmergencyContacts();
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+            switch (parser.getString()) {
+                case "police": emergency.setPolice(readString(parser)); break;
+                case "ambulance": emergency.setAmbulance(readString(parser)); break;
+                case "fire": emergency.setFire(readString(parser)); break;
+                default: skipValue(parser);
+            }
+        }
+        return emergency;
+    }
+
+    private static String readString(JsonParser parser) {
+        return scalarText(parser, parser.next());
+    }
+
+    private static List<String> readStringList(JsonParser parser) {
+        JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.VALUE_NULL) {
+            return null;
+        }
+        if (event != JsonParser.Event.START_ARRAY) {
+            // A lone scalar where a list was expected becomes a one-item list
+            String single = scalarText(parser, event);
+            List<String> list = new ArrayList<>(1);
+            if (single != null) {
+                list.add(single);
+            }
+            return list;
+        }
+
+        List<String> list = new ArrayList<>();
+        while ((event = parser.next()) != JsonParser.Event.END_ARRAY) {
+            String item = scalarText(parser, event);
+            if (item != null) {
+                list.add(item);
+            }
+        }
+        return list;
+    }
+
+    private static String scalarText(JsonParser parser, JsonParser.Event event) {
+        switch (event) {
+            case VALUE_STRING:
+            case VALUE_NUMBER:
+                return parser.getString();
+            case VALUE_TRUE:
+                return "true";
+            case VALUE_FALSE:
+                return "false";
+            case VALUE_NULL:
+                return null;
+            default:
+                // Nested structures are not expected for scalar fields
+                parser.skipChildren();
+                return null;
+        }
+    }
+
+    private static void skipValue(JsonParser parser) {
+        parser.next();
+        parser.skipChildren();
+    }
+
+    private static void expectStartObject(JsonParser parser) {
+        if (parser.next() != JsonParser.Event.START_OBJECT) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+    }
+
+    /**
+     * Serialises CityData using the same field names bind() reads.
+     * Null fields are omitted.
+     */
+    public static String toJson(CityData cityData) {
+        StringBuilder sb = new StringBuilder(2048);
+        sb.append('{');
+        writeField(sb, "city", cityData.getCity());
+        writeField(sb, "state", cityData.getState());
+        writeField(sb, "country", cityData.getCountry());
+        writeField(sb, "description", cityData.getDescription());
+        writeField(sb, "bestTimeToVisit", cityData.getBestTimeToVisit());
+        writeField(sb, "weather", cityData.getWeather());
+        writeField(sb, "touristSpots", cityData.getTouristSpots());
+        writeField(sb, "famousFood", cityData.getFamousFood());
+        writeField(sb, "restaurants", cityData.getRestaurants());
+        writeField(sb, "streetFood", cityData.getStreetFood());
+        writeField(sb, "attractions", cityData.getAttractions());
+        writeField(sb, "themeParks", cityData.getThemeParks());
+        writeField(sb, "festivals", cityData.getFestivals());
+        writeField(sb, "hotels", cityData.getHotels());
+        writeField(sb, "shoppingMarkets", cityData.getShoppingMarkets());
+        writeField(sb, "nightlife", cityData.getNightlife());
+        writeField(sb, "localTips", cityData.getLocalTips());
+        writeField(sb, "languagesSpoken", cityData.getLanguagesSpoken());
+
+        CityData.Transportation transportation = cityData.getTransportation();
+        if (transportation != null) {
+            startField(sb, "transportation");
+            sb.append('{');
+            writeField(sb, "local", transportation.getLocal());
+            writeField(sb, "airport", transportation.getAirport());
+            sb.append('}');
+        }
+
+        CityData.EmergencyContacts emergency = cityData.getEmergencyContacts();
+        if (emergency != null) {
+            startField(sb, "emergencyContacts");
+            sb.append('{');
+            writeField(sb, "police", emergency.getPolice());
+            writeField(sb, "ambulance", emergency.getAmbulance());
+            writeField(sb, "fire", emergency.getFire());
+            sb.append('}');
+        }
+
+        sb.append('}');
+        return sb.toString();
+    }
+
+    private static void writeField(StringBuilder sb, String name, String value) {
+        if (value != null) {
+            startField(sb, name);
+            writeString(sb, value);
+        }
+    }
+
+    private static void writeField(StringBuilder sb, String name, List<String> values) {
+        if (values == null) {
+            return;
+        }
+        startField(sb, name);
+        sb.append('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            writeString(sb, values.get(i));
+        }
+        sb.append(']');
+    }
+
+    private static void startField(StringBuilder sb, String name) {
+        char last = sb.charAt(sb.length() - 1);
+        if (last != '{') {
+            sb.append(',');
+        }
+        writeString(sb, name);
+        sb.append(':');
+    }
+
+    private static void writeString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        sb.append('"');
+    }
+}
\ No newline at end of file
@@ -0,0 +1,296 @@
+package backend;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Two-tier cache for CityData keyed on the normalised city name
+ * A bounded in-memory LRU sits in front of one JSON file per city on disk
+ *
+ * Entries younger than the TTL are fresh. Older entries are still served
+ * (stale-while-revalidate) until maxStale, and the caller is told to
+ * refresh them in the background. Anything older is treated as a miss,
+ * and its file is deleted when it is read or by sweepDisk().
+ */
+public class CityDataCache {
+
+    /**
+     * Result of a cache lookup
+     */
+    public static class Lookup {
+        private final CityData data;
+        private final boolean stale;
+
+        Lookup(CityData data, boolean stale) {
+            this.data = data;
+            this.stale = stale;
+        }
+
+        public CityData getData() { return data; }
+        public boolean isStale() { return stale; }
+    }
+
+    private static class Entry {
+        final CityData data;
+        final long cachedAt;
+
+        Entry(CityData data, long cachedAt) {
+            this.data = data;
+            this.cachedAt = cachedAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final long maxStaleMillis;
+    private final Path directory;
+    private final Map<String, Entry> memory;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    public CityDataCache(int maxEntries, long ttlMillis, long maxStaleMillis, Path directory) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.maxStaleMillis = maxStaleMillis;
+        this.directory = directory;
+        this.memory = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > CityDataCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static String normalizeKey(String cityName) {
+        return cityName.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Looks the city up in memory, then on disk, on the calling thread.
+     * Returns null on a miss or when the entry is past maxStale.
+     */
+    public Lookup get(String cityName) {
+        String key = normalizeKey(cityName);
+        Entry entry = fromMemory(key);
+        if (entry == null) {
+            entry = fromDisk(key);
+        }
+        return lookup(key, entry);
+    }
+
+    /**
+     * Same as get, but only the memory tier is checked on the calling
+     * thread; a disk lookup runs on diskExecutor. Completes with null on a
+     * miss. Safe to call from the UI thread when diskExecutor rejects rather
+     * than running the read on the caller; a rejection fails the future.
+     */
+    public CompletableFuture<Lookup> getAsync(String cityName, Executor diskExecutor) {
+        String key = normalizeKey(cityName);
+        Entry entry = fromMemory(key);
+        if (entry != null) {
+            return CompletableFuture.completedFuture(lookup(key, entry));
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> lookup(key, fromDisk(key)), diskExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private Entry fromMemory(String key) {
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private Entry fromDisk(String key) {
+        Entry entry = readFromDisk(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() - entry.cachedAt > maxStaleMillis) {
+            // Never served again; don't let it take up space
+            deleteQuietly(fileFor(key));
+            expired.incrementAndGet();
+            return null;
+        }
+        diskHits.incrementAndGet();
+        synchronized (memory) {
+            memory.putIfAbsent(key, entry);
+        }
+        return entry;
+    }
+
+    private Lookup lookup(String key, Entry entry) {
+        long age = entry == null ? Long.MAX_VALUE : System.currentTimeMillis() - entry.cachedAt;
+        if (age > maxStaleMillis) {
+            if (entry != null) {
+                synchronized (memory) {
+                    memory.remove(key, entry);
+                }
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+
+        if (age > ttlMillis) {
+            staleHits.incrementAndGet();
+            return new Lookup(entry.data, true);
+        }
+
+        hits.incrementAndGet();
+        return new Lookup(entry.data, false);
+    }
+
+    public void put(String cityName, CityData data) {
+        String key = normalizeKey(cityName);
+        Entry entry = new Entry(data, System.currentTimeMillis());
+
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        writeToDisk(key, entry);
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getStaleHits() { return staleHits.get(); }
+    public long getDiskHits() { return diskHits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public long getExpired() { return expired.get(); }
+
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    public String getStats() {
+        return "CityDataCache{size=" + size() + "/" + maxEntries +
+                ", hits=" + hits.get() +
+                ", staleHits=" + staleHits.get() +
+                ", diskHits=" + diskHits.get() +
+                ", misses=" + misses.get() +
+                ", evictions=" + evictions.get() +
+                ", expired=" + expired.get() +
+                '}';
+    }
+
+    private Path fileFor(String key) {
+        // Keep file names portable whatever the city name contains
+        StringBuilder name = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            // ASCII only: other characters may not be encodable in the
+            // platform's file name charset; the hash keeps names distinct
+            name.append(c < 128 && Character.isLetterOrDigit(c) ? c : '_');
+        }
+        name.append('-').append(Integer.toHexString(key.hashCode())).append(".json");
+        return directory.resolve(name.toString());
+    }
+
+    /**
+     * Deletes cache files last written more than maxStale ago, and temp
+     * files left behind by an interrupted write. Entries are rewritten on
+     * every put, so a file's modification time is its entry's age.
+     * Returns the number of files deleted.
+     */
+    public int sweepDisk() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        long cutoff = System.currentTimeMillis() - maxStaleMillis;
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (!name.endsWith(".json") && !name.endsWith(".tmp")) {
+                    continue;
+                }
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < cutoff && Files.deleteIfExists(file)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    // Raced with a write or already gone; the next sweep retries
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error sweeping cache directory " + directory + ": " + e.getMessage());
+        }
+        expired.addAndGet(deleted);
+        return deleted;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // The next sweep gets another chance
+        }
+    }
+
+    private Entry readFromDisk(String key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonParser parser = new JsonParser(reader);
+            if (parser.next() != JsonParser.Event.START_OBJECT) {
+                return null;
+            }
+
+            long cachedAt = 0;
+            CityData data = null;
+            while (parser.next() != JsonParser.Event.END_OBJECT) {
+                String field = parser.getString();
+                if (field.equals("cachedAt")) {
+                    parser.next();
+                    cachedAt = parser.getNumber().longValue();
+                } else if (field.equals("data")) {
+                    data = CityDataBinder.bind(parser);
+                } else {
+                    parser.next();
+                    parser.skipChildren();
+                }
+            }
+            return data == null ? null : new Entry(data, cachedAt);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error reading cache file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        Path file = fileFor(key);
+        String json = "{\"cachedAt\":" + entry.cachedAt + ",\"data\":" + CityDataBinder.toJson(entry.data) + "}";
+
+        try {
+            Files.createDirectories(directory);
+            // Write then rename so a reader never sees a half-written file
+            Path temp = Files.createTempFile(directory, "city", ".tmp");
+            Files.write(temp, json.getBytes(StandardCharsets.UTF_8));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error writing cache file " + file + ": " + e.getMessage());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package frontend;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable, pre-measured content of a city result view
+ * Built on a background thread from CityData, so the EDT only has to create
+ * and attach components: strings are formatted, fonts chosen and long text
+ * already wrapped to the expected width.
+ */
+public class CityViewModel {
+
+    // Measurement only needs the font, not a screen; safe on any thread
+    private static final FontRenderContext MEASURE = new FontRenderContext(null, true, false);
+
+    /**
+     * Text wrapped into lines for one font and width
+     */
+    public static class TextBlock {
+        public final String text;
+        public final Font font;
+        public final Color color;
+        public final int wrapWidth;
+        public final List<String> lines;
+        public final int lineHeight;
+
+        public TextBlock(String text, Font font, Color color, int wrapWidth) {
+            this.text = text == null ? "" : text;
+            this.font = font;
+            this.color = color;
+            this.wrapWidth = wrapWidth;
+            this.lines = wrap(this.text, font, wrapWidth);
+            this.lineHeight = (int) Math.ceil(font.getLineMetrics("Ag", MEASURE).getHeight());
+        }
+
+        public int getHeight() {
+            return lines.size() * lineHeight;
+        }
+    }
+
+    /**
+     * One card in the grid; either items or text is set
+     */
+    public static class Card {
+        public final String title;
+        public final String heading;
+        public final List<String> itemLines;
+        public final String moreLine;
+        public final TextBlock text;
+        public final int span;
+
+        public Card(String title, String heading, List<String> itemLines, String moreLine, TextBlock text, int span) {
+            this.title = title;
+            this.heading = heading;
+            this.itemLines = itemLines == null ? Collections.emptyList() : Collections.unmodifiableList(itemLines);
+            this.moreLine = moreLine;
+            this.text = text;
+            this.span = span;
+        }
+    }
+
+    public final String city;
+    public final String location;
+    public final String bestTime;
+    public final TextBlock description;
+    public final List<Card> cards;
+
+    public CityViewModel(String city, String location, String bestTime, TextBlock description, List<Card> cards) {
+        this.city = city;
+        this.location = location;
+        this.bestTime = bestTime;
+        this.description = description;
+        this.cards = Collections.unmodifiableList(new ArrayList<>(cards));
+    }
+
+    /**
+     * Greedy word wrap by measured width; a word longer than the width gets
+     * a line of its own
+     */
+    public static List<String> wrap(String text, Font font, int width) {
+        List<String> lines = new ArrayList<>();
+        for (String paragraph : text.split("\n", -1)) {
+            StringBuilder line = new StringBuilder();
+            for (String word : paragraph.split(" +")) {
+                if (word.isEmpty()) {
+                    continue;
+                }
+                String candidate = line.length() == 0 ? word : line + " " + word;
+                if (line.length() > 0 && font.getStringBounds(candidate, MEASURE).getWidth() > width) {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                    line.append(word);
+                } else {
+                    line.setLength(0);
+                    line.append(candidate);
+                }
+            }
+            lines.add(line.toString());
+        }
+        return Collections.unmodifiableList(lines);
+    }
+}
\ No newline at end of file
@@ -1,100 +1,124 @@
-package backend;
-
-import java.io.*;
-import java.nio.file.*;
-import java.util.*;
-
-/**
- * Data storage service using file system
- * Equivalent to localStorage in the React app
- */
-public class DataStorage {
-    
-    private static final String DATA_DIR = "data";
-    private static final String USERS_FILE = "users.txt";
-    private static final String CURRENT_USER_FILE = "current_user.txt";
-    
-    public static void initialize() {
-        try {
-            Files.createDirectories(Paths.get(DATA_DIR));
-        } catch (IOException e) {
-            System.err.println("Error creating data directory: " + e.getMessage());
-        }
-    }
-    
-    public static List<User> loadUsers() {
-        List<User> users = new ArrayList<>();
-        Path usersPath = Paths.get(DATA_DIR, USERS_FILE);
-        
-        if (Files.exists(usersPath)) {
-            try {
-                List<String> lines = Files.readAllLines(usersPath);
-                for (String line : lines) {
-                    if (!line.trim().isEmpty()) {
-                        String[] parts = line.split("\\|");
-                        if (parts.length == 3) {
-                            users.add(new User(parts[0], parts[1], parts[2]));
-                        }
-                    }
-                }
-            } catch (IOException e) {
-                System.err.println("Error reading users file: " + e.getMessage());
-            }
-        }
-        
-        return users;
-    }
-    
-    public static void saveUsers(List<User> users) {
-        Path usersPath = Paths.get(DATA_DIR, USERS_FILE);
-        
-        try {
-            List<String> lines = new ArrayList<>();
-            for (User user : users) {
-                lines.add(user.getEmail() + "|" + user.getPassword() + "|" + user.getName());
-            }
-            Files.write(usersPath, lines);
-        } catch (IOException e) {
-            System.err.println("Error saving users file: " + e.getMessage());
-        }
-    }
-    
-    public static User loadCurrentUser() {
-        Path currentUserPath = Paths.get(DATA_DIR, CURRENT_USER_FILE);
-        
-        if (Files.exists(currentUserPath)) {
-            try {
-                List<String> lines = Files.readAllLines(currentUserPath);
-                if (!lines.isEmpty() && !lines.get(0).trim().isEmpty()) {
-                    String[] parts = lines.get(0).split("\\|");
-                    if (parts.length >= 2) {
-                        return new User(parts[0], "", parts[1]); // Don't store password for current user
-                    }
-                }
-            } catch (IOException e) {
-                System.err.println("Error reading current user file: " + e.getMessage());
-            }
-        }
-        
-        return null;
-    }
-    
-    public static void saveCurrentUser(User user) {
-        Path currentUserPath = Paths.get(DATA_DIR, CURRENT_USER_FILE);
-        
-        try {
-            if (user != null) {
-                String userData = user.getEmail() + "|" + user.getName();
-                Files.write(currentUserPath, Arrays.asList(userData));
-            } else {
-                Files.deleteIfExists(currentUserPath);
-            }
-        } catch (IOException e) {
-            System.err.println("Error saving current user file: " + e.getMessage());
-        }
-    }
-    
-    public static void clearCurrentUser() {
-        saveCurrentUser(null);
-    }
+package backend;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Data storage service using file system
+ * Equivalent to localStorage in the React app
+ */
+public class DataStorage {
+    
+    private static final String DATA_DIR = "data";
+    private static final String USERS_FILE = "users.txt";
+    private static final String CURRENT_USER_FILE = "current_user.txt";
+    
+    private static final String USER_DB_DIR = "userdb";
+    private static final String USER_DB_FILE = "users.db";
+    
+    // Users are indexed by email in memory or on disk, rather than re-read
+    // and rewritten on every login and signup. An existing users.txt is
+    // imported the first time a binary store is opened.
+    //   userdb.backend        - wal, mmap, text, mongo or memory (default wal)
+    //   userdb.sync           - wal: ALWAYS, GROUP or INTERVAL (default GROUP)
+    //   userdb.sync.ms        - wal: group-commit window (default 2) or fsync interval (default 1000)
+    //   userdb.compact.bytes  - wal: log size that triggers compaction (default 4 MB)
+    private static final UserRepository USER_STORE = createUserRepository();
+    
+    private static UserRepository createUserRepository() {
+        Path legacyFile = Paths.get(DATA_DIR, USERS_FILE);
+        String backend = System.getProperty("userdb.backend", "wal").trim().toLowerCase();
+        switch (backend) {
+            case "mmap":
+                return new MappedUserStore(Paths.get(DATA_DIR, USER_DB_FILE), legacyFile);
+            case "text":
+                return new IndexedUserStore(legacyFile);
+            case "mongo":
+                return new MongoUserRepository();
+            case "memory":
+                return new InMemoryUserRepository();
+            case "wal":
+                WalUserStore.SyncPolicy syncPolicy =
+                    WalUserStore.SyncPolicy.valueOf(System.getProperty("userdb.sync", "GROUP").trim().toUpperCase());
+                return new WalUserStore(
+                    Paths.get(DATA_DIR, USER_DB_DIR),
+                    legacyFile,
+                    syncPolicy,
+                    Long.getLong("userdb.sync.ms", syncPolicy == WalUserStore.SyncPolicy.INTERVAL ? 1000 : 2),
+                    Long.getLong("userdb.compact.bytes", 4L * 1024 * 1024));
+            default:
+                throw new IllegalArgumentException("Unknown userdb.backend: " + backend);
+        }
+    }
+    
+    public static void initialize() {
+        try {
+            Files.createDirectories(Paths.get(DATA_DIR));
+        } catch (IOException e) {
+            System.err.println("Error creating data directory: " + e.getMessage());
+        }
+    }
+    
+    public static UserRepository getUserRepository() {
+        return USER_STORE;
+    }
+    
+    public static List<User> loadUsers() {
+        return USER_STORE.getAll();
+    }
+    
+    public static void saveUsers(List<User> users) {
+        USER_STORE.replaceAll(users);
+    }
+    
+    public static User findUserByEmail(String email) {
+        return USER_STORE.findByEmail(email);
+    }
+    
+    /**
+     * Appends a new user; returns false if the email is already registered
+     */
+    public static boolean addUser(User user) {
+        return USER_STORE.add(user);
+    }
+    
+    public static User loadCurrentUser() {
+        Path currentUserPath = Paths.get(DATA_DIR, CURRENT_USER_FILE);
+        
+        if (Files.exists(currentUserPath)) {
+            try {
+                List<String> lines = Files.readAllLines(currentUserPath);
+                if (!lines.isEmpty() && !lines.get(0).trim().isEmpty()) {
+                    String[] parts = lines.get(0).split("\\|");
+                    if (parts.length >= 2) {
+                        return new User(parts[0], "", parts[1]); // Don't store password for current user
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("Error reading current user file: " + e.getMessage());
+            }
+        }
+        
+        return null;
+    }
+    
+    public static void saveCurrentUser(User user) {
+        Path currentUserPath = Paths.get(DATA_DIR, CURRENT_USER_FILE);
+        
+        try {
+            if (user != null) {
+                String userData = user.getEmail() + "|" + user.getName();
+                Files.write(currentUserPath, Arrays.asList(userData));
+            } else {
+                Files.deleteIfExists(currentUserPath);
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving current user file: " + e.getMessage());
+        }
+    }
+    
+    public static void clearCurrentUser() {
+        saveCurrentUser(null);
+    }
 }
\ No newline at end of file
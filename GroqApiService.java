@@ -1,312 +1,1031 @@
-package backend;
-
-import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.util.*;
-import java.util.concurrent.CompletableFuture;
-
-/**
- * Groq API service for fetching city information
- * Equivalent to the API calls in the React Index.tsx
- */
-public class GroqApiService {
-    
-    private static String GROQ_API_KEY;
-    private static final String GROQ_API_URL = "https://api.groq.com/openai/v1/chat/completions";
-    
-    static {
-        loadConfiguration();
-    }
-    
-    private static void loadConfiguration() {
-        Properties props = new Properties();
-        try (InputStream input = new FileInputStream("config/api.properties")) {
-            props.load(input);
-            GROQ_API_KEY = props.getProperty("groq.api.key");
-            if (GROQ_API_KEY == null || GROQ_API_KEY.trim().isEmpty()) {
-                throw new RuntimeException("Groq API key not found in config/api.properties");
-            }
-        } catch (IOException e) {
-            // Fallback to hardcoded key for testing
-            GROQ_API_KEY = "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";
-            System.err.println("Warning: Could not load config file, using fallback API key");
-        }
-    }
-    
-    public static CompletableFuture<CityData> getCityInformation(String cityName) {
-        return CompletableFuture.supplyAsync(() -> {
-            try {
-                return fetchCityInformation(cityName);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to fetch city information: " + e.getMessage(), e);
-            }
-        });
-    }
-    
-    private static CityData fetchCityInformation(String cityName) throws Exception {
-        String prompt = createPrompt(cityName);
-        String requestBody = createRequestBody(prompt);
-        
-        HttpURLConnection connection = createConnection();
-        sendRequest(connection, requestBody);
-        
-        String response = getResponse(connection);
-        
-        if (connection.getResponseCode() != 200) {
-            throw new RuntimeException("API request failed with code: " + connection.getResponseCode());
-        }
-        
-        return parseApiResponse(response);
-    }
-    
-    // private static String createPrompt(String cityName) {
-    //     return String.format(
-    //         "Provide comprehensive travel information about %s in the following JSON format:\n" +
-    //         "{\n" +
-    //         "  \"city\": \"%s\",\n" +
-    //         "  \"state\": \"state name\",\n" +
-    //         "  \"country\": \"country name\",\n" +
-    //         "  \"description\": \"A detailed description of the city\",\n" +
-    //         "  \"bestTimeToVisit\": \"Best months to visit\",\n" +
-    //         "  \"touristSpots\": [\"spot1\", \"spot2\", \"spot3\"],\n" +
-    //         "  \"famousFood\": [\"food1\", \"food2\", \"food3\"],\n" +
-    //         "  \"restaurants\": [\"restaurant1\", \"restaurant2\", \"restaurant3\"],\n" +
-    //         "  \"streetFood\": [\"food1\", \"food2\",],\n" +
-    //         "  \"attractions\": [\"attraction1\", \"attraction2\"],\n" +
-    //         "  \"themeParks\": [\"park1\", \"park2\"],\n" +
-    //         "  \"festivals\": [\"festival1\", \"festival2\", \"festival3\"],\n" +
-    //         "  \"transportation\": {\n" +
-    //         "    \"local\": [\"transport1\", \"transport2\"],\n" +
-    //         "    \"airport\": \"airport name\"\n" +
-    //         "  },\n" +
-    //         "  \"hotels\": [\"hotel1\", \"hotel2\", \"hotel3\"],\n" +
-    //         "  \"shoppingMarkets\": [\"market1\", \"market2\", \"market3\"],\n" +
-    //         "  \"nightlife\": [\"place1\", \"place2\"],\n" +
-    //         "  \"weather\": \"Weather description\",\n" +
-    //         "  \"localTips\": [\"tip1\", \"tip2\"],\n" +
-    //         "  \"emergencyContacts\": {\n" +
-    //         "    \"police\": \"number\",\n" +
-    //         "    \"ambulance\": \"number\",\n" +
-    //         "    \"fire\": \"number\"\n" +
-    //         "  },\n" +
-    //         "  \"languagesSpoken\": [\"language1\", \"language2\"]\n" +
-    //         "}\n\n" +
-    //         "Return ONLY the JSON object, no additional text.",
-    //         cityName, cityName
-    //     );
-    // }
-    private static String createPrompt(String cityName) {
-    return String.format(
-        "Provide comprehensive travel information about %s in the following JSON format:\n" +
-        "{\n" +
-        "  \"city\": \"%s\",\n" +
-        "  \"state\": \"state name\",\n" +
-        "  \"country\": \"country name\",\n" +
-        "  \"description\": \"A detailed description of the city\",\n" +
-        "  \"population\": \"Approximate population count\",\n" +
-        "  \"area\": \"Area in square kilometers\",\n" +
-        "  \"bestTimeToVisit\": \"Best months to visit\",\n" +
-        "  \"touristSpots\": [\"spot1\", \"spot2\", \"spot3\", \"spot4\", \"spot5\", \"spot6\"],\n" +
-        "  \"historicalSites\": [\"site1\", \"site2\", \"site3\", \"site4\", \"site5\", \"site6\"],\n" +
-        "  \"famousFood\": [\"food1\", \"food2\", \"food3\", \"food4\", \"food5\", \"food6\"],\n" +
-        "  \"restaurants\": [\"restaurant1\", \"restaurant2\", \"restaurant3\", \"restaurant4\", \"restaurant5\", \"restaurant6\"],\n" +
-        "  \"streetFood\": [\"food1\", \"food2\", \"food3\", \"food4\", \"food5\", \"food6\"],\n" +
-        "  \"attractions\": [\"attraction1\", \"attraction2\", \"attraction3\", \"attraction4\", \"attraction5\", \"attraction6\"],\n" +
-        "  \"themeParks\": [\"park1\", \"park2\", \"park3\", \"park4\", \"park5\", \"park6\"],\n" +
-        "  \"festivals\": [\"festival1\", \"festival2\", \"festival3\", \"festival4\", \"festival5\", \"festival6\"],\n" +
-        "  \"famousPersonalities\": [\"person1\", \"person2\", \"person3\", \"person4\", \"person5\", \"person6\"],\n" +
-        "  \"transportation\": {\n" +
-        "    \"local\": [\"transport1\", \"transport2\", \"transport3\", \"transport4\", \"transport5\", \"transport6\"],\n" +
-        "    \"airport\": \"airport name\"\n" +
-        "  },\n" +
-        "  \"hotels\": [\"hotel1\", \"hotel2\", \"hotel3\", \"hotel4\", \"hotel5\", \"hotel6\"],\n" +
-        "  \"shoppingMarkets\": [\"market1\", \"market2\", \"market3\", \"market4\", \"market5\", \"market6\"],\n" +
-        "  \"nightlife\": [\"place1\", \"place2\", \"place3\", \"place4\", \"place5\", \"place6\"],\n" +
-        "  \"weather\": \"detailed summary of weather conditions (temperature range, humidity, general climate).\",\n" +
-        "  \"currency\": \"Local currency name\",\n" +
-        "  \"localTips\": [\"tip1\", \"tip2\", \"tip3\", \"tip4\", \"tip5\", \"tip6\"],\n" +
-        "  \"emergencyContacts\": {\n" +
-        "    \"police\": \"number\",\n" +
-        "    \"ambulance\": \"number\",\n" +
-        "    \"fire\": \"number\"\n" +
-        "  },\n" +
-        "  \"languagesSpoken\": [\"language1\", \"language2\", \"language3\", \"language4\", \"language5\", \"language6\"]\n" +
-        "}\n\n" +
-        "Return ONLY the JSON object, no additional text.",
-        cityName, cityName
-    );
-}
-
-    private static String createRequestBody(String prompt) {
-        return "{\n" +
-            "  \"model\": \"llama-3.3-70b-versatile\",\n" +
-            "  \"messages\": [\n" +
-            "    {\n" +
-            "      \"role\": \"system\",\n" +
-            "      \"content\": \"You are a travel information assistant. Always respond with valid JSON only.\"\n" +
-            "    },\n" +
-            "    {\n" +
-            "      \"role\": \"user\",\n" +
-            "      \"content\": \"" + escapeJsonString(prompt) + "\"\n" +
-            "    }\n" +
-            "  ],\n" +
-            "  \"temperature\": 0.7,\n" +
-            "  \"max_tokens\": 2000\n" +
-            "}";
-    }
-    
-    private static String escapeJsonString(String str) {
-        return str.replace("\\", "\\\\")
-                 .replace("\"", "\\\"")
-                 .replace("\n", "\\n")
-                 .replace("\r", "\\r")
-                 .replace("\t", "\\t");
-    }
-    
-    private static HttpURLConnection createConnection() throws Exception {
-        URL url = new URL(GROQ_API_URL);
-        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
-        
-        connection.setRequestMethod("POST");
-        connection.setRequestProperty("Content-Type", "application/json");
-        connection.setRequestProperty("Authorization", "Bearer " + GROQ_API_KEY);
-        connection.setDoOutput(true);
-        
-        return connection;
-    }
-    
-    private static void sendRequest(HttpURLConnection connection, String requestBody) throws Exception {
-        try (OutputStreamWriter writer = new OutputStreamWriter(connection.getOutputStream())) {
-            writer.write(requestBody);
-            writer.flush();
-        }
-    }
-    
-    private static String getResponse(HttpURLConnection connection) throws Exception {
-        StringBuilder response = new StringBuilder();
-        
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(
-                    connection.getResponseCode() >= 400 ? 
-                        connection.getErrorStream() : connection.getInputStream()
-                )
-            )) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                response.append(line);
-            }
-        }
-        
-        return response.toString();
-    }
-    
-    private static CityData parseApiResponse(String jsonResponse) throws Exception {
-        // Parse the response JSON
-        Map<String, Object> response = JsonParser.parseJson(jsonResponse);
-        
-        // Extract the content from choices[0].message.content
-        @SuppressWarnings("unchecked")
-        List<Map<String, Object>> choices = (List<Map<String, Object>>) response.get("choices");
-        
-        if (choices == null || choices.isEmpty()) {
-            throw new RuntimeException("No choices in API response");
-        }
-        
-        @SuppressWarnings("unchecked")
-        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
-        
-        if (message == null) {
-            throw new RuntimeException("No message in API response");
-        }
-        
-        String content = (String) message.get("content");
-        
-        if (content == null || content.trim().isEmpty()) {
-            throw new RuntimeException("No content in API response");
-        }
-        
-        // Extract JSON from content (in case there's extra text)
-        String jsonContent = extractJsonFromContent(content);
-        
-        // Parse the city data JSON
-        Map<String, Object> cityDataMap = JsonParser.parseJson(jsonContent);
-        
-        return mapToCityData(cityDataMap);
-    }
-    
-    private static String extractJsonFromContent(String content) {
-        // Handle escaped newlines in the content
-        content = content.replace("\\n", "\n").replace("\\r", "\r").replace("\\t", "\t");
-        
-        // Find the JSON object in the content
-        int start = content.indexOf('{');
-        int end = content.lastIndexOf('}');
-        
-        if (start == -1 || end == -1 || start >= end) {
-            throw new RuntimeException("No valid JSON found in API response");
-        }
-        
-        return content.substring(start, end + 1);
-    }
-    
-    @SuppressWarnings("unchecked")
-    private static CityData mapToCityData(Map<String, Object> dataMap) {
-        CityData cityData = new CityData();
-        
-        cityData.setCity((String) dataMap.get("city"));
-        cityData.setState((String) dataMap.get("state"));
-        cityData.setCountry((String) dataMap.get("country"));
-        cityData.setDescription((String) dataMap.get("description"));
-        cityData.setBestTimeToVisit((String) dataMap.get("bestTimeToVisit"));
-        cityData.setWeather((String) dataMap.get("weather"));
-        
-        // Handle arrays - convert Objects to Strings
-        cityData.setTouristSpots(convertToStringList((List<Object>) dataMap.get("touristSpots")));
-        cityData.setFamousFood(convertToStringList((List<Object>) dataMap.get("famousFood")));
-        cityData.setRestaurants(convertToStringList((List<Object>) dataMap.get("restaurants")));
-        cityData.setStreetFood(convertToStringList((List<Object>) dataMap.get("streetFood")));
-        cityData.setAttractions(convertToStringList((List<Object>) dataMap.get("attractions")));
-        cityData.setThemeParks(convertToStringList((List<Object>) dataMap.get("themeParks")));
-        cityData.setFestivals(convertToStringList((List<Object>) dataMap.get("festivals")));
-        cityData.setHotels(convertToStringList((List<Object>) dataMap.get("hotels")));
-        cityData.setShoppingMarkets(convertToStringList((List<Object>) dataMap.get("shoppingMarkets")));
-        cityData.setNightlife(convertToStringList((List<Object>) dataMap.get("nightlife")));
-        cityData.setLocalTips(convertToStringList((List<Object>) dataMap.get("localTips")));
-        cityData.setLanguagesSpoken(convertToStringList((List<Object>) dataMap.get("languagesSpoken")));
-        
-        // Handle transportation object
-        Map<String, Object> transportationMap = (Map<String, Object>) dataMap.get("transportation");
-        if (transportationMap != null) {
-            CityData.Transportation transportation = new CityData.Transportation();
-            transportation.setLocal(convertToStringList((List<Object>) transportationMap.get("local")));
-            transportation.setAirport((String) transportationMap.get("airport"));
-            cityData.setTransportation(transportation);
-        }
-        
-        // Handle emergency contacts object
-        Map<String, Object> emergencyMap = (Map<String, Object>) dataMap.get("emergencyContacts");
-        if (emergencyMap != null) {
-            CityData.EmergencyContacts emergency = new CityData.EmergencyContacts();
-            emergency.setPolice((String) emergencyMap.get("police"));
-            emergency.setAmbulance((String) emergencyMap.get("ambulance"));
-            emergency.setFire((String) emergencyMap.get("fire"));
-            cityData.setEmergencyContacts(emergency);
-        }
-        
-        return cityData;
-    }
-    
-    private static List<String> convertToStringList(List<Object> objectList) {
-        if (objectList == null) {
-            return null;
-        }
-        List<String> stringList = new ArrayList<>();
-        for (Object obj : objectList) {
-            if (obj != null) {
-                stringList.add(obj.toString());
-            }
-        }
-        return stringList;
-    }
+package backend;
+
+import java.io.*;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Groq API service for fetching city information
+ * Equivalent to the API calls in the React Index.tsx
+ */
+public class GroqApiService {
+    
+    private static String GROQ_API_KEY;
+    private static final String DEFAULT_API_URL = "https://api.groq.com/openai/v1/chat/completions";
+    private static String GROQ_API_URL = DEFAULT_API_URL;
+    private static long CONNECT_TIMEOUT_MILLIS = 10_000;
+    // Bounds the wait for response headers, then each read of the body
+    private static long READ_TIMEOUT_MILLIS = 60_000;
+    private static int LIMITER_INITIAL = 4;
+    private static int LIMITER_MAX = 16;
+    private static int LIMITER_MAX_QUEUED = 64;
+    private static int MAX_RETRIES = 3;
+    private static final long RETRY_BASE_DELAY_MILLIS = 500;
+    private static final long RETRY_MAX_DELAY_MILLIS = 20_000;
+    
+    // Output token budget per request. A batch is sized so the expected
+    // answer for all its cities fits in BATCH_MAX_TOKENS with some headroom.
+    private static final int MAX_TOKENS = 2000;
+    private static int BATCH_MAX_TOKENS = 8000;
+    private static final double BATCH_TOKEN_HEADROOM = 1.25;
+    // Running estimate of completion tokens per city, updated from usage
+    private static double tokensPerCity = 1500;
+    
+    // One shared client, so TCP/TLS connections are pooled and HTTP/2
+    // streams are multiplexed across requests
+    private static HttpClient httpClient;
+    
+    // Caps requests in flight to Groq and backs off when it throttles us
+    private static AdaptiveConcurrencyLimiter limiter;
+    private static final AtomicLong RETRIES = new AtomicLong();
+    private static final AtomicLong ABORTED = new AtomicLong();
+    private static final AtomicLong READ_TIMEOUTS = new AtomicLong();
+    
+    // Blocking body reads and parsing run here rather than on the common pool
+    private static final Executor EXECUTOR = BackendExecutors.network();
+    // Same pool for work submitted on the caller's thread, which may be the
+    // EDT: it rejects when saturated instead of running there
+    private static final Executor CALLER_EXECUTOR = BackendExecutors.networkFromUi();
+    
+    // City answers barely change, so serve them from cache for a day and
+    // keep serving (while refreshing) for up to a week
+    private static final long CACHE_TTL_MILLIS = 24L * 60 * 60 * 1000;
+    private static final long CACHE_MAX_STALE_MILLIS = 7 * CACHE_TTL_MILLIS;
+    private static final CityDataCache CACHE = new CityDataCache(100, CACHE_TTL_MILLIS, CACHE_MAX_STALE_MILLIS,
+        Paths.get(System.getProperty("groq.cache.dir", Paths.get("data", "cache").toString())));
+    
+    // Concurrent lookups of the same (normalised) city share one request
+    private static final SingleFlight<String, CityData> IN_FLIGHT = new SingleFlight<>();
+    
+    static {
+        loadConfiguration();
+        httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(CONNECT_TIMEOUT_MILLIS))
+            .build();
+        limiter = new AdaptiveConcurrencyLimiter(LIMITER_INITIAL, 1, LIMITER_MAX, LIMITER_MAX_QUEUED);
+        // Drop cache files past their max-stale window left by earlier runs
+        CompletableFuture.runAsync(CACHE::sweepDisk, EXECUTOR);
+    }
+    
+    private static void loadConfiguration() {
+        Properties props = new Properties();
+        try (InputStream input = new FileInputStream("config/api.properties")) {
+            props.load(input);
+        } catch (IOException e) {
+            // Fallback to hardcoded key for testing
+            props.setProperty("groq.api.key", "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");
+            System.err.println("Warning: Could not load config file, using fallback API key");
+        }
+        // groq.* system properties win over the file, e.g. to point a
+        // Verify main at a local stub server
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("groq.")) {
+                props.setProperty(name, System.getProperty(name));
+            }
+        }
+        
+        // Overridable so requests can be pointed at a local stub server
+        GROQ_API_URL = props.getProperty("groq.api.url", DEFAULT_API_URL).trim();
+        CONNECT_TIMEOUT_MILLIS = Long.parseLong(props.getProperty("groq.connect.timeout.ms", String.valueOf(CONNECT_TIMEOUT_MILLIS)).trim());
+        READ_TIMEOUT_MILLIS = Long.parseLong(props.getProperty("groq.read.timeout.ms", String.valueOf(READ_TIMEOUT_MILLIS)).trim());
+        LIMITER_INITIAL = Integer.parseInt(props.getProperty("groq.limiter.initial", String.valueOf(LIMITER_INITIAL)).trim());
+        LIMITER_MAX = Integer.parseInt(props.getProperty("groq.limiter.max", String.valueOf(LIMITER_MAX)).trim());
+        LIMITER_MAX_QUEUED = Integer.parseInt(props.getProperty("groq.limiter.maxQueued", String.valueOf(LIMITER_MAX_QUEUED)).trim());
+        MAX_RETRIES = Integer.parseInt(props.getProperty("groq.max.retries", String.valueOf(MAX_RETRIES)).trim());
+        BATCH_MAX_TOKENS = Integer.parseInt(props.getProperty("groq.batch.max.tokens", String.valueOf(BATCH_MAX_TOKENS)).trim());
+        GROQ_API_KEY = props.getProperty("groq.api.key");
+        if (GROQ_API_KEY == null || GROQ_API_KEY.trim().isEmpty()) {
+            throw new RuntimeException("Groq API key not found in config/api.properties");
+        }
+    }
+    
+    public static CompletableFuture<CityData> getCityInformation(String cityName) {
+        return composeCancellable(lookupCached(cityName), cached -> cached != null
+            ? CompletableFuture.completedFuture(cached)
+            : IN_FLIGHT.execute(CityDataCache.normalizeKey(cityName), () -> fetchAndCache(cityName)));
+    }
+    
+    /**
+     * Checks the memory tier on the calling thread and the disk tier on the
+     * network executor, so the UI thread never reads a cache file.
+     * Completes with null on a miss; a stale hit is served and refreshed in
+     * the background. Fails with RejectedExecutionException when the
+     * executor is saturated.
+     */
+    private static CompletableFuture<CityData> lookupCached(String cityName) {
+        return CACHE.getAsync(cityName, CALLER_EXECUTOR).thenApply(cached -> {
+            if (cached == null) {
+                return null;
+            }
+            if (cached.isStale()) {
+                refreshInBackground(cityName);
+            }
+            return cached.getData();
+        });
+    }
+    
+    public static CityDataCache getCache() {
+        return CACHE;
+    }
+    
+    public static SingleFlight<String, CityData> getInFlightRequests() {
+        return IN_FLIGHT;
+    }
+    
+    public static AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+    
+    public static long getRetryCount() {
+        return RETRIES.get();
+    }
+    
+    /**
+     * Responses whose body stalled for longer than groq.read.timeout.ms
+     */
+    public static long getReadTimeoutCount() {
+        return READ_TIMEOUTS.get();
+    }
+    
+    /**
+     * Requests whose HTTP exchange was aborted because every caller
+     * cancelled
+     */
+    public static long getAbortedCount() {
+        return ABORTED.get();
+    }
+    
+    private static CompletableFuture<CityData> fetchAndCache(String cityName) {
+        return cacheResult(cityName, fetchCityInformation(cityName));
+    }
+    
+    private static CompletableFuture<CityData> cacheResult(String cityName, CompletableFuture<CityData> fetch) {
+        return cancelsUpstream(fetch.handle((cityData, error) -> {
+            if (error != null) {
+                throw fetchFailure(error);
+            }
+            CACHE.put(cityName, cityData);
+            return cityData;
+        }), fetch);
+    }
+    
+    /**
+     * Cancelling a dependent CompletableFuture does not reach the future it
+     * was derived from; this passes the cancellation back so the request
+     * behind it can be aborted
+     */
+    private static <T> CompletableFuture<T> cancelsUpstream(CompletableFuture<T> dependent, CompletableFuture<?> upstream) {
+        dependent.whenComplete((value, error) -> {
+            if (dependent.isCancelled()) {
+                upstream.cancel(true);
+            }
+        });
+        return dependent;
+    }
+    
+    /**
+     * Like first.thenCompose(next), but cancelling the result also cancels
+     * whichever stage is running at the time, so a cancel that arrives
+     * after the cache lookup still reaches the request
+     */
+    private static <T, U> CompletableFuture<U> composeCancellable(CompletableFuture<T> first,
+                                                                  Function<T, CompletableFuture<U>> next) {
+        CompletableFuture<U> result = new CompletableFuture<>();
+        AtomicReference<CompletableFuture<?>> running = new AtomicReference<>(first);
+        first.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            CompletableFuture<U> stage;
+            try {
+                stage = next.apply(value);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            running.set(stage);
+            if (result.isCancelled()) {
+                stage.cancel(true);
+            }
+            stage.whenComplete((stageValue, stageError) -> {
+                if (stageError != null) {
+                    result.completeExceptionally(stageError);
+                } else {
+                    result.complete(stageValue);
+                }
+            });
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                running.get().cancel(true);
+            }
+        });
+        return result;
+    }
+    
+    private static RuntimeException fetchFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof CancellationException) {
+            return (CancellationException) cause;
+        }
+        // Connection errors from HttpClient often carry no message of their own
+        String detail = cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+        return new RuntimeException("Failed to fetch city information: " + detail, cause);
+    }
+    
+    private static void refreshInBackground(String cityName) {
+        // Joins any lookup already running for this city rather than starting another
+        IN_FLIGHT.execute(CityDataCache.normalizeKey(cityName), () -> fetchAndCache(cityName))
+            .whenComplete((cityData, error) -> {
+                if (error != null) {
+                    System.err.println("Background refresh failed for " + cityName + ": " + error.getMessage());
+                }
+            });
+    }
+    
+    /**
+     * Streaming variant of getCityInformation.
+     * Asks Groq for a server-sent-event stream and reports the partially
+     * filled CityData to onUpdate each time another top-level field has
+     * been received. Each update is a separate snapshot, delivered on the
+     * background thread; the returned future completes with the full data.
+     * Cancelling the returned future aborts the HTTP exchange, unless
+     * another caller is still waiting for the same city. Safe to call from
+     * the UI thread: if the network executor is saturated the future fails
+     * with RejectedExecutionException rather than working on the caller.
+     */
+    public static CompletableFuture<CityData> getCityInformationStreaming(String cityName, Consumer<CityData> onUpdate) {
+        return composeCancellable(lookupCached(cityName), cached -> {
+            if (cached != null) {
+                // Nothing to stream; deliver the cached answer as the single
+                // update. A memory hit gets here on the caller's thread.
+                return CompletableFuture.supplyAsync(() -> {
+                    onUpdate.accept(cached);
+                    return cached;
+                }, CALLER_EXECUTOR);
+            }
+            
+            // If this call joins a lookup someone else started, it only sees the
+            // final result, so report that as its one update
+            AtomicBoolean updated = new AtomicBoolean();
+            Consumer<CityData> trackingUpdate = partial -> {
+                updated.set(true);
+                onUpdate.accept(partial);
+            };
+            
+            CompletableFuture<CityData> flight = IN_FLIGHT.execute(CityDataCache.normalizeKey(cityName), () ->
+                cacheResult(cityName, fetchCityInformationStreaming(cityName, trackingUpdate)));
+            return cancelsUpstream(flight.thenApply(cityData -> {
+                if (!updated.get()) {
+                    onUpdate.accept(cityData);
+                }
+                return cityData;
+            }), flight);
+        });
+    }
+    
+    private static CompletableFuture<CityData> fetchCityInformationStreaming(String cityName, Consumer<CityData> onUpdate) {
+        HttpRequest request = createRequest(createRequestBody(createPrompt(cityName), true, MAX_TOKENS), true);
+        
+        // Headers arrive asynchronously; the body is then consumed as it streams in
+        return exchange(request, body -> {
+                try (SseContentReader content = new SseContentReader(body)) {
+                    // The model may wrap the object in prose or a code fence; start at the first brace
+                    PushbackReader reader = new PushbackReader(content);
+                    int c;
+                    while ((c = reader.read()) != -1 && c != '{') {
+                        // skip preamble
+                    }
+                    if (c == -1) {
+                        throw new RuntimeException("No valid JSON found in API response");
+                    }
+                    reader.unread(c);
+                    
+                    return CityDataBinder.bind(new JsonParser(reader), partial -> onUpdate.accept(new CityData(partial)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+    
+    /**
+     * Looks up several cities at once.
+     * Cities that are not cached or already being fetched are packed into
+     * as few requests as the max_tokens budget allows. The method returns
+     * one future per name, in input order. A city the model leaves out of
+     * its batch answer is fetched on its own. The cache, including its
+     * disk tier, is checked on the calling thread, so call this from a
+     * background thread.
+     */
+    public static List<CompletableFuture<CityData>> getCityInformationBatch(List<String> cityNames) {
+        List<CompletableFuture<CityData>> results = new ArrayList<>(cityNames.size());
+        // Cities this call is responsible for fetching, each with the future its callers wait on
+        Map<String, CompletableFuture<CityData>> toFetch = new LinkedHashMap<>();
+        
+        for (String cityName : cityNames) {
+            CityDataCache.Lookup cached = CACHE.get(cityName);
+            if (cached != null) {
+                if (cached.isStale()) {
+                    refreshInBackground(cityName);
+                }
+                results.add(CompletableFuture.completedFuture(cached.getData()));
+                continue;
+            }
+            
+            // Only runs the loader if nobody, including an earlier duplicate
+            // in this list, is already fetching the city
+            results.add(IN_FLIGHT.execute(CityDataCache.normalizeKey(cityName), () -> {
+                CompletableFuture<CityData> fetch = new CompletableFuture<>();
+                toFetch.put(cityName, fetch);
+                return cacheResult(cityName, fetch);
+            }));
+        }
+        
+        List<String> pending = new ArrayList<>(toFetch.keySet());
+        int batchSize = batchSize();
+        for (int i = 0; i < pending.size(); i += batchSize) {
+            List<String> batch = new ArrayList<>(pending.subList(i, Math.min(pending.size(), i + batchSize)));
+            if (batch.size() == 1) {
+                complete(toFetch.get(batch.get(0)), fetchCityInformation(batch.get(0)));
+                continue;
+            }
+            
+            fetchBatch(batch).whenComplete((found, error) -> {
+                for (String cityName : batch) {
+                    CompletableFuture<CityData> fetch = toFetch.get(cityName);
+                    CityData cityData = found != null ? found.get(CityDataCache.normalizeKey(cityName)) : null;
+                    if (error != null) {
+                        fetch.completeExceptionally(error);
+                    } else if (cityData != null) {
+                        fetch.complete(cityData);
+                    } else {
+                        complete(fetch, fetchCityInformation(cityName));
+                    }
+                }
+            });
+        }
+        
+        return results;
+    }
+    
+    private static void complete(CompletableFuture<CityData> target, CompletableFuture<CityData> source) {
+        source.whenComplete((cityData, error) -> {
+            if (error != null) {
+                target.completeExceptionally(error);
+            } else {
+                target.complete(cityData);
+            }
+        });
+    }
+    
+    private static synchronized int batchSize() {
+        return Math.max(1, (int) (BATCH_MAX_TOKENS / (tokensPerCity * BATCH_TOKEN_HEADROOM)));
+    }
+    
+    private static synchronized void recordBatchUsage(int completionTokens, int cities, boolean truncated) {
+        if (truncated) {
+            // Ran out of tokens, so the estimate was too low; back off quickly
+            tokensPerCity = Math.min(BATCH_MAX_TOKENS, tokensPerCity * 1.5);
+        } else if (completionTokens > 0 && cities > 0) {
+            tokensPerCity = 0.7 * tokensPerCity + 0.3 * completionTokens / cities;
+        }
+    }
+    
+    /**
+     * Fetches several cities in one request.
+     * Returns the cities found, keyed by normalised name.
+     */
+    private static CompletableFuture<Map<String, CityData>> fetchBatch(List<String> cityNames) {
+        HttpRequest request = createRequest(createRequestBody(createBatchPrompt(cityNames), false, BATCH_MAX_TOKENS), false);
+        
+        return exchange(request, body -> {
+            try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+                return parseBatchResponse(reader, cityNames);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+    
+    private static CompletableFuture<CityData> fetchCityInformation(String cityName) {
+        HttpRequest request = createRequest(createRequestBody(createPrompt(cityName), false, MAX_TOKENS), false);
+        
+        return exchange(request, body -> {
+                // Parse while the body is still arriving instead of buffering it first
+                try (Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8)) {
+                    return parseApiResponse(reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+    
+    /**
+     * Sends the request through the concurrency limiter and hands a 200
+     * response body to bodyHandler on the network executor.
+     * 429 and 503 responses are retried after the server's retry-after or
+     * an exponential backoff with full jitter, whichever is longer.
+     */
+    private static <T> CompletableFuture<T> exchange(HttpRequest request, Function<InputStream, T> bodyHandler) {
+        // Cancelling the result aborts whichever attempt is running
+        Abort abort = new Abort();
+        CompletableFuture<T> result = exchange(request, bodyHandler, 0, abort);
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                abort.abort();
+            }
+        });
+        return result;
+    }
+    
+    private static <T> CompletableFuture<T> exchange(HttpRequest request, Function<InputStream, T> bodyHandler,
+                                                     int attempt, Abort abort) {
+        return limiter.acquire().thenCompose(permit -> {
+            if (abort.isAborted()) {
+                permit.ignore();
+                throw new CancellationException("Request cancelled");
+            }
+            CompletableFuture<HttpResponse<InputStream>> sent =
+                httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+            abort.track(sent);
+            
+            return sent.handleAsync((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                        if (cause instanceof HttpTimeoutException) {
+                            permit.dropped();
+                        } else {
+                            permit.ignore();
+                        }
+                        throw abort.isAborted() ? new CancellationException("Request cancelled") : new CompletionException(cause);
+                    }
+                    
+                    // The request timeout only covered the headers; this bounds each body read
+                    IdleTimeoutInputStream body = new IdleTimeoutInputStream(response.body(), READ_TIMEOUT_MILLIS);
+                    abort.track(body);
+                    limiter.observe(response.headers());
+                    int status = response.statusCode();
+                    if (status == 429 || status == 503) {
+                        discardBody(body);
+                        long retryAfter = AdaptiveConcurrencyLimiter.retryAfterMillis(response.headers());
+                        permit.throttled(retryAfter);
+                        if (attempt >= MAX_RETRIES) {
+                            throw new RuntimeException("API request failed with code: " + status + " after " + (attempt + 1) + " attempts");
+                        }
+                        return retryLater(request, bodyHandler, attempt + 1, retryAfter, abort);
+                    }
+                    
+                    try {
+                        T result = bodyHandler.apply(checkStatus(status, body));
+                        permit.success();
+                        return CompletableFuture.completedFuture(result);
+                    } catch (RuntimeException e) {
+                        if (body.isTimedOut()) {
+                            permit.dropped();
+                            throw new CompletionException(new HttpTimeoutException(
+                                "No response data for " + READ_TIMEOUT_MILLIS + " ms"));
+                        }
+                        permit.ignore();
+                        // Reading a body closed by abort() fails; report it as the cancellation it is
+                        throw abort.isAborted() ? new CancellationException("Request cancelled") : e;
+                    }
+                }, EXECUTOR)
+                .thenCompose(Function.identity());
+        });
+    }
+    
+    private static <T> CompletableFuture<T> retryLater(HttpRequest request, Function<InputStream, T> bodyHandler,
+                                                       int attempt, long retryAfterMillis, Abort abort) {
+        long cap = Math.min(RETRY_MAX_DELAY_MILLIS, RETRY_BASE_DELAY_MILLIS << Math.min(attempt, 16));
+        long delay = Math.max(retryAfterMillis, ThreadLocalRandom.current().nextLong(cap + 1));
+        RETRIES.incrementAndGet();
+        
+        Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, EXECUTOR);
+        return CompletableFuture.supplyAsync(() -> exchange(request, bodyHandler, attempt, abort), delayed)
+            .thenCompose(Function.identity());
+    }
+    
+    /**
+     * Aborts one logical request across its retries: cancels the pending
+     * send, or closes the response body if it is already being read, which
+     * resets the stream and frees the connection
+     */
+    private static class Abort {
+        private volatile boolean aborted;
+        private volatile CompletableFuture<?> pending;
+        private volatile InputStream body;
+        
+        boolean isAborted() {
+            return aborted;
+        }
+        
+        void track(CompletableFuture<?> send) {
+            pending = send;
+            if (aborted) {
+                send.cancel(true);
+            }
+        }
+        
+        void track(InputStream responseBody) {
+            body = responseBody;
+            if (aborted) {
+                closeQuietly(responseBody);
+            }
+        }
+        
+        void abort() {
+            if (aborted) {
+                return;
+            }
+            aborted = true;
+            ABORTED.incrementAndGet();
+            CompletableFuture<?> send = pending;
+            if (send != null) {
+                send.cancel(true);
+            }
+            InputStream responseBody = body;
+            if (responseBody != null) {
+                closeQuietly(responseBody);
+            }
+        }
+        
+        private static void closeQuietly(InputStream stream) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // Already broken; nothing more to release
+            }
+        }
+    }
+    
+    /**
+     * Response body that is closed when a read has waited longer than
+     * idleMillis for data, so a server that stalls mid-body fails the read
+     * instead of holding a network thread and a limiter permit forever.
+     * Time the caller spends between reads does not count.
+     */
+    private static class IdleTimeoutInputStream extends FilterInputStream {
+        private final long idleNanos;
+        // Start of the read in progress, or 0 between reads
+        private volatile long readStarted;
+        private volatile boolean closed;
+        private volatile boolean timedOut;
+        
+        IdleTimeoutInputStream(InputStream in, long idleMillis) {
+            super(in);
+            this.idleNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, idleMillis));
+            scheduleCheck(idleNanos);
+        }
+        
+        boolean isTimedOut() {
+            return timedOut;
+        }
+        
+        @Override
+        public int read() throws IOException {
+            readStarted = System.nanoTime();
+            try {
+                return super.read();
+            } finally {
+                readStarted = 0;
+            }
+        }
+        
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            readStarted = System.nanoTime();
+            try {
+                return super.read(b, off, len);
+            } finally {
+                readStarted = 0;
+            }
+        }
+        
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+        
+        private void scheduleCheck(long delayNanos) {
+            // Not on the network executor: it may be full of the very reads
+            // this is meant to cut off. The check itself never blocks.
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS).execute(this::check);
+        }
+        
+        private void check() {
+            if (closed) {
+                return;
+            }
+            long started = readStarted;
+            long waited = started == 0 ? 0 : System.nanoTime() - started;
+            if (waited < idleNanos) {
+                scheduleCheck(idleNanos - waited);
+                return;
+            }
+            timedOut = true;
+            READ_TIMEOUTS.incrementAndGet();
+            try {
+                close();
+            } catch (IOException e) {
+                // Already broken; the reader fails either way
+            }
+        }
+    }
+    
+    // private static String createPrompt(String cityName) {
+    //     return String.format(
+    //         "Provide comprehensive travel information about %s in the following JSON format:\n" +
+    //         "{\n" +
+    //         "  \"city\": \"%s\",\n" +
+    //         "  \"state\": \"state name\",\n" +
+    //         "  \"country\": \"country name\",\n" +
+    //         "  \"description\": \"A detailed description of the city\",\n" +
+    //         "  \"bestTimeToVisit\": \"Best months to visit\",\n" +
+    //         "  \"touristSpots\": [\"spot1\", \"spot2\", \"spot3\"],\n" +
+    //         "  \"famousFood\": [\"food1\", \"food2\", \"food3\"],\n" +
+    //         "  \"restaurants\": [\"restaurant1\", \"restaurant2\", \"restaurant3\"],\n" +
+    //         "  \"streetFood\": [\"food1\", \"food2\",],\n" +
+    //         "  \"attractions\": [\"attraction1\", \"attraction2\"],\n" +
+    //         "  \"themeParks\": [\"park1\", \"park2\"],\n" +
+    //         "  \"festivals\": [\"festival1\", \"festival2\", \"festival3\"],\n" +
+    //         "  \"transportation\": {\n" +
+    //         "    \"local\": [\"transport1\", \"transport2\"],\n" +
+    //         "    \"airport\": \"airport name\"\n" +
+    //         "  },\n" +
+    //         "  \"hotels\": [\"hotel1\", \"hotel2\", \"hotel3\"],\n" +
+    //         "  \"shoppingMarkets\": [\"market1\", \"market2\", \"market3\"],\n" +
+    //         "  \"nightlife\": [\"place1\", \"place2\"],\n" +
+    //         "  \"weather\": \"Weather description\",\n" +
+    //         "  \"localTips\": [\"tip1\", \"tip2\"],\n" +
+    //         "  \"emergencyContacts\": {\n" +
+    //         "    \"police\": \"number\",\n" +
+    //         "    \"ambulance\": \"number\",\n" +
+    //         "    \"fire\": \"number\"\n" +
+    //         "  },\n" +
+    //         "  \"languagesSpoken\": [\"language1\", \"language2\"]\n" +
+    //         "}\n\n" +
+    //         "Return ONLY the JSON object, no additional text.",
+    //         cityName, cityName
+    //     );
+    // }
+    private static String createPrompt(String cityName) {
+    return "Provide comprehensive travel information about " + cityName + " in the following JSON format:\n" +
+        cityJsonFormat(cityName) + "\n\n" +
+        "Return ONLY the JSON object, no additional text.";
+}
+
+    /**
+     * One prompt for several cities; the answer is a single JSON object
+     * keyed by the city names as given
+     */
+    private static String createBatchPrompt(List<String> cityNames) {
+        return "Provide comprehensive travel information about each of these cities: " +
+            String.join("; ", cityNames) + ".\n" +
+            "Respond with one JSON object whose keys are the city names exactly as written above. " +
+            "The value for each city must use the following JSON format:\n" +
+            cityJsonFormat("city name") + "\n\n" +
+            "Return ONLY the JSON object, no additional text.";
+    }
+    
+    private static String cityJsonFormat(String cityName) {
+    return String.format(
+        "{\n" +
+        "  \"city\": \"%s\",\n" +
+        "  \"state\": \"state name\",\n" +
+        "  \"country\": \"country name\",\n" +
+        "  \"description\": \"A detailed description of the city\",\n" +
+        "  \"population\": \"Approximate population count\",\n" +
+        "  \"area\": \"Area in square kilometers\",\n" +
+        "  \"bestTimeToVisit\": \"Best months to visit\",\n" +
+        "  \"touristSpots\": [\"spot1\", \"spot2\", \"spot3\", \"spot4\", \"spot5\", \"spot6\"],\n" +
+        "  \"historicalSites\": [\"site1\", \"site2\", \"site3\", \"site4\", \"site5\", \"site6\"],\n" +
+        "  \"famousFood\": [\"food1\", \"food2\", \"food3\", \"food4\", \"food5\", \"food6\"],\n" +
+        "  \"restaurants\": [\"restaurant1\", \"restaurant2\", \"restaurant3\", \"restaurant4\", \"restaurant5\", \"restaurant6\"],\n" +
+        "  \"streetFood\": [\"food1\", \"food2\", \"food3\", \"food4\", \"food5\", \"food6\"],\n" +
+        "  \"attractions\": [\"attraction1\", \"attraction2\", \"attraction3\", \"attraction4\", \"attraction5\", \"attraction6\"],\n" +
+        "  \"themeParks\": [\"park1\", \"park2\", \"park3\", \"park4\", \"park5\", \"park6\"],\n" +
+        "  \"festivals\": [\"festival1\", \"festival2\", \"festival3\", \"festival4\", \"festival5\", \"festival6\"],\n" +
+        "  \"famousPersonalities\": [\"person1\", \"person2\", \"person3\", \"person4\", \"person5\", \"person6\"],\n" +
+        "  \"transportation\": {\n" +
+        "    \"local\": [\"transport1\", \"transport2\", \"transport3\", \"transport4\", \"transport5\", \"transport6\"],\n" +
+        "    \"airport\": \"airport name\"\n" +
+        "  },\n" +
+        "  \"hotels\": [\"hotel1\", \"hotel2\", \"hotel3\", \"hotel4\", \"hotel5\", \"hotel6\"],\n" +
+        "  \"shoppingMarkets\": [\"market1\", \"market2\", \"market3\", \"market4\", \"market5\", \"market6\"],\n" +
+        "  \"nightlife\": [\"place1\", \"place2\", \"place3\", \"place4\", \"place5\", \"place6\"],\n" +
+        "  \"weather\": \"detailed summary of weather conditions (temperature range, humidity, general climate).\",\n" +
+        "  \"currency\": \"Local currency name\",\n" +
+        "  \"localTips\": [\"tip1\", \"tip2\", \"tip3\", \"tip4\", \"tip5\", \"tip6\"],\n" +
+        "  \"emergencyContacts\": {\n" +
+        "    \"police\": \"number\",\n" +
+        "    \"ambulance\": \"number\",\n" +
+        "    \"fire\": \"number\"\n" +
+        "  },\n" +
+        "  \"languagesSpoken\": [\"language1\", \"language2\", \"language3\", \"language4\", \"language5\", \"language6\"]\n" +
+        "}",
+        cityName
+    );
+}
+
+    private static String createRequestBody(String prompt, boolean stream, int maxTokens) {
+        return "{\n" +
+            "  \"model\": \"llama-3.3-70b-versatile\",\n" +
+            "  \"messages\": [\n" +
+            "    {\n" +
+            "      \"role\": \"system\",\n" +
+            "      \"content\": \"You are a travel information assistant. Always respond with valid JSON only.\"\n" +
+            "    },\n" +
+            "    {\n" +
+            "      \"role\": \"user\",\n" +
+            "      \"content\": \"" + escapeJsonString(prompt) + "\"\n" +
+            "    }\n" +
+            "  ],\n" +
+            "  \"temperature\": 0.7,\n" +
+            "  \"stream\": " + stream + ",\n" +
+            "  \"max_tokens\": " + maxTokens + "\n" +
+            "}";
+    }
+    
+    private static String escapeJsonString(String str) {
+        return str.replace("\\", "\\\\")
+                 .replace("\"", "\\\"")
+                 .replace("\n", "\\n")
+                 .replace("\r", "\\r")
+                 .replace("\t", "\\t");
+    }
+    
+    private static HttpRequest createRequest(String requestBody, boolean stream) {
+        return HttpRequest.newBuilder(URI.create(GROQ_API_URL))
+            .timeout(Duration.ofMillis(READ_TIMEOUT_MILLIS))
+            .header("Content-Type", "application/json")
+            .header("Accept", stream ? "text/event-stream" : "application/json")
+            .header("Authorization", "Bearer " + GROQ_API_KEY)
+            .POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8))
+            .build();
+    }
+    
+    private static InputStream checkStatus(int status, InputStream body) {
+        if (status != 200) {
+            discardBody(body);
+            throw new RuntimeException("API request failed with code: " + status);
+        }
+        return body;
+    }
+    
+    private static void discardBody(InputStream body) {
+        // Drain the error body so the underlying connection can be reused
+        try (InputStream stream = body) {
+            byte[] buffer = new byte[4096];
+            while (stream.read(buffer) != -1) {
+                // discard
+            }
+        } catch (IOException e) {
+            // Nothing useful to do with a broken error body
+        }
+    }
+    
+    // Package-private for JsonBindingBenchmark
+    static CityData parseApiResponse(Reader responseReader) {
+        // Walk the envelope to choices[0].message.content without building a tree
+        String content = extractChoiceContent(new JsonParser(responseReader), "message");
+        
+        if (content == null || content.trim().isEmpty()) {
+            throw new RuntimeException("No content in API response");
+        }
+        
+        // Extract JSON from content (in case there's extra text)
+        String jsonContent = extractJsonFromContent(content);
+        
+        // Bind the city data JSON directly into CityData
+        return CityDataBinder.bind(new JsonParser(jsonContent));
+    }
+    
+    private static Map<String, CityData> parseBatchResponse(Reader responseReader, List<String> cityNames) {
+        // The envelope is small next to the content, and usage follows
+        // choices, so read it as a tree rather than stopping at the content
+        Map<String, Object> envelope = JsonParser.parseJson(responseReader);
+        
+        Object choices = envelope.get("choices");
+        if (!(choices instanceof List) || ((List<?>) choices).isEmpty() || !(((List<?>) choices).get(0) instanceof Map)) {
+            throw new RuntimeException("No choices in API response");
+        }
+        Map<?, ?> choice = (Map<?, ?>) ((List<?>) choices).get(0);
+        Object message = choice.get("message");
+        Object content = message instanceof Map ? ((Map<?, ?>) message).get("content") : null;
+        if (!(content instanceof String) || ((String) content).trim().isEmpty()) {
+            throw new RuntimeException("No content in API response");
+        }
+        
+        boolean truncated = "length".equals(choice.get("finish_reason"));
+        Map<String, CityData> found = bindBatch((String) content, cityNames);
+        
+        Object usage = envelope.get("usage");
+        Object completionTokens = usage instanceof Map ? ((Map<?, ?>) usage).get("completion_tokens") : null;
+        recordBatchUsage(completionTokens instanceof Number ? ((Number) completionTokens).intValue() : 0,
+            found.size(), truncated);
+        return found;
+    }
+    
+    /**
+     * Binds a batch answer, either an object keyed by city name or an
+     * array of city objects. If the answer was cut off at max_tokens, the
+     * cities that arrived complete are still returned.
+     */
+    private static Map<String, CityData> bindBatch(String content, List<String> cityNames) {
+        // Same unescaping as extractJsonFromContent
+        content = content.replace("\\n", "\n").replace("\\r", "\r").replace("\\t", "\t");
+        
+        int objectStart = content.indexOf('{');
+        int arrayStart = content.indexOf('[');
+        int start = arrayStart != -1 && (objectStart == -1 || arrayStart < objectStart) ? arrayStart : objectStart;
+        if (start == -1) {
+            throw new RuntimeException("No valid JSON found in API response");
+        }
+        
+        Set<String> requested = new HashSet<>();
+        for (String cityName : cityNames) {
+            requested.add(CityDataCache.normalizeKey(cityName));
+        }
+        
+        Map<String, CityData> found = new HashMap<>();
+        JsonParser parser = new JsonParser(content.substring(start));
+        try {
+            if (parser.next() == JsonParser.Event.START_OBJECT) {
+                while (parser.next() != JsonParser.Event.END_OBJECT) {
+                    String key = parser.getString();
+                    if (parser.next() != JsonParser.Event.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    addBatchResult(found, requested, key, CityDataBinder.bindStarted(parser));
+                }
+            } else {
+                JsonParser.Event element;
+                while ((element = parser.next()) != JsonParser.Event.END_ARRAY) {
+                    if (element != JsonParser.Event.START_OBJECT) {
+                        parser.skipChildren();
+                        continue;
+                    }
+                    CityData cityData = CityDataBinder.bindStarted(parser);
+                    addBatchResult(found, requested, cityData.getCity(), cityData);
+                }
+            }
+        } catch (IllegalArgumentException | NoSuchElementException e) {
+            // Truncated or malformed from here on; keep what was complete
+            System.err.println("Incomplete batch response after " + found.size() + " cities: " + e.getMessage());
+        }
+        return found;
+    }
+    
+    private static void addBatchResult(Map<String, CityData> found, Set<String> requested, String key, CityData cityData) {
+        // Prefer the key the model used, then the city it named inside the object
+        String normalized = key != null ? CityDataCache.normalizeKey(key) : null;
+        if (normalized == null || !requested.contains(normalized)) {
+            normalized = cityData.getCity() != null ? CityDataCache.normalizeKey(cityData.getCity()) : null;
+        }
+        if (normalized != null && requested.contains(normalized)) {
+            found.put(normalized, cityData);
+        }
+    }
+    
+    /**
+     * Reads choices[0].message.content from a completion envelope, or
+     * choices[0].delta.content from a stream chunk when messageKey is "delta"
+     */
+    private static String extractChoiceContent(JsonParser parser, String messageKey) {
+        if (parser.next() != JsonParser.Event.START_OBJECT) {
+            throw new RuntimeException("Invalid API response");
+        }
+        
+        while (parser.next() != JsonParser.Event.END_OBJECT) {
+            if (!parser.getString().equals("choices")) {
+                parser.next();
+                parser.skipChildren();
+                continue;
+            }
+            
+            if (parser.next() != JsonParser.Event.START_ARRAY
+                    || parser.next() != JsonParser.Event.START_OBJECT) {
+                break;
+            }
+            
+            // First choice: look for its message object
+            while (parser.next() != JsonParser.Event.END_OBJECT) {
+                if (!parser.getString().equals(messageKey)) {
+                    parser.next();
+                    parser.skipChildren();
+                    continue;
+                }
+                
+                if (parser.next() != JsonParser.Event.START_OBJECT) {
+                    throw new RuntimeException("No message in API response");
+                }
+                
+                while (parser.next() != JsonParser.Event.END_OBJECT) {
+                    boolean isContent = parser.getString().equals("content");
+                    JsonParser.Event value = parser.next();
+                    if (isContent && value == JsonParser.Event.VALUE_STRING) {
+                        return parser.getString();
+                    }
+                    parser.skipChildren();
+                }
+                return null;
+            }
+            throw new RuntimeException("No message in API response");
+        }
+        
+        throw new RuntimeException("No choices in API response");
+    }
+    
+    private static String extractJsonFromContent(String content) {
+        // Handle escaped newlines in the content
+        content = content.replace("\\n", "\n").replace("\\r", "\r").replace("\\t", "\t");
+        
+        // Find the JSON object in the content
+        int start = content.indexOf('{');
+        int end = content.lastIndexOf('}');
+        
+        if (start == -1 || end == -1 || start >= end) {
+            throw new RuntimeException("No valid JSON found in API response");
+        }
+        
+        return content.substring(start, end + 1);
+    }
+    
+    /**
+     * Exposes the concatenated delta.content of a Groq server-sent-event
+     * stream as a character stream, decoding one event at a time as the
+     * parser asks for more input
+     */
+    private static class SseContentReader extends Reader {
+        private final BufferedReader events;
+        private String chunk = "";
+        private int chunkPos;
+        private boolean done;
+        
+        SseContentReader(InputStream stream) {
+            this.events = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        }
+        
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            while (chunkPos >= chunk.length()) {
+                if (done || !nextChunk()) {
+                    done = true;
+                    return -1;
+                }
+            }
+            
+            int n = Math.min(len, chunk.length() - chunkPos);
+            chunk.getChars(chunkPos, chunkPos + n, cbuf, off);
+            chunkPos += n;
+            return n;
+        }
+        
+        private boolean nextChunk() throws IOException {
+            String line;
+            while ((line = events.readLine()) != null) {
+                if (!line.startsWith("data:")) {
+                    continue; // blank separators, comments and other fields
+                }
+                
+                String data = line.substring(5).trim();
+                if (data.equals("[DONE]")) {
+                    return false;
+                }
+                
+                String content = extractChoiceContent(new JsonParser(data), "delta");
+                chunk = content != null ? content : "";
+                chunkPos = 0;
+                return true;
+            }
+            return false;
+        }
+        
+        @Override
+        public void close() throws IOException {
+            events.close();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package backend;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Benchmark of per-request latency with and without connection reuse
+ * Runs against a local HTTP stub that answers every POST with a canned
+ * completion, so the numbers are client and connection overhead only.
+ * Run with an optional URL to measure another endpoint instead, e.g. an
+ * https:// stub to include TLS handshakes.
+ *
+ * Modes, each timed per request (median and p99):
+ *   new client      - a fresh HttpClient per request: client start-up plus TCP (and TLS) setup
+ *   shared client   - one HttpClient, as GroqApiService uses now
+ *   shared, N async - the shared client with N requests in flight via sendAsync
+ */
+public class HttpClientBenchmark {
+
+    private static final int WARMUP = 200;
+    private static final int REQUESTS = 2_000;
+    private static final int CONCURRENCY = 8;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== HTTP Client Benchmark ===");
+
+        HttpServer server = null;
+        String url;
+        if (args.length > 0) {
+            url = args[0];
+        } else {
+            server = startStub();
+            url = "http://127.0.0.1:" + server.getAddress().getPort() + "/chat";
+        }
+        System.out.println("Target: " + url + ", " + REQUESTS + " requests per mode");
+        System.out.printf("%n%-20s %12s %12s %14s%n", "mode", "median ms", "p99 ms", "requests/s");
+
+        byte[] body = "{\"model\":\"stub\",\"messages\":[{\"role\":\"user\",\"content\":\"Lisbon\"}]}"
+            .getBytes(StandardCharsets.UTF_8);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+            .timeout(Duration.ofSeconds(10))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+
+        try {
+            run("new client", () -> {
+                HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+                send(client, request);
+                // HttpClient is only AutoCloseable from JDK 21 and the build
+                // targets 17; there the client is left to the GC
+                if (client instanceof AutoCloseable) {
+                    ((AutoCloseable) client).close();
+                }
+            });
+
+            HttpClient shared = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+            run("shared client", () -> send(shared, request));
+            runConcurrent("shared, " + CONCURRENCY + " async", shared, request);
+        } finally {
+            if (server != null) {
+                server.stop(0);
+            }
+        }
+
+        System.out.println("\nThe gap between \"new client\" and \"shared client\" is the setup cost saved per request.");
+        System.out.println("\n=== Benchmark Complete ===");
+        System.exit(0);
+    }
+
+    private interface Call {
+        void run() throws Exception;
+    }
+
+    private static void run(String mode, Call call) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            call.run();
+        }
+
+        double[] latencies = new double[REQUESTS];
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            long requestStart = System.nanoTime();
+            call.run();
+            latencies[i] = (System.nanoTime() - requestStart) / 1e6;
+        }
+        report(mode, latencies, System.nanoTime() - start);
+    }
+
+    private static void runConcurrent(String mode, HttpClient client, HttpRequest request) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            send(client, request);
+        }
+
+        double[] latencies = new double[REQUESTS];
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<?>> futures = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            inFlight.acquire();
+            long requestStart = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    latencies[index] = (System.nanoTime() - requestStart) / 1e6;
+                    inFlight.release();
+                }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        report(mode, latencies, System.nanoTime() - start);
+    }
+
+    private static void report(String mode, double[] latencies, long totalNanos) {
+        Arrays.sort(latencies);
+        System.out.printf("%-20s %12.3f %12.3f %14.0f%n", mode,
+            latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.99)],
+            latencies.length / (totalNanos / 1e9));
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws Exception {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IOException("Stub answered " + response.statusCode());
+        }
+    }
+
+    private static HttpServer startStub() throws IOException {
+        // Without this, Nagle's algorithm on the stub meets delayed ACKs on a
+        // reused connection and adds ~40 ms per request, which a real
+        // server would not
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        // On JDK 17 the dropped "new client" connections stay open until GC;
+        // past the default of 200 idle connections the stub would start
+        // closing the shared client's connection under it
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(4 * (WARMUP + REQUESTS)));
+
+        byte[] answer = ("{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion\",\"choices\":[{\"index\":0,"
+            + "\"message\":{\"role\":\"assistant\",\"content\":\"{\\\"city\\\":\\\"Lisbon\\\",\\\"country\\\":\\\"Portugal\\\"}\"},"
+            + "\"finish_reason\":\"stop\"}],\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":20,\"total_tokens\":30}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.setExecutor(Executors.newFixedThreadPool(CONCURRENCY, runnable -> {
+            // Daemon, so a failed run still exits
+            Thread thread = new Thread(runnable, "stub-http");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.createContext("/chat", exchange -> {
+            try (InputStream request = exchange.getRequestBody()) {
+                request.readAllBytes();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, answer.length);
+            try (OutputStream response = exchange.getResponseBody()) {
+                response.write(answer);
+            }
+        });
+        server.start();
+        return server;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+package backend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent in-memory user repository
+ * Nothing is persisted; useful for tests, demos and as a benchmark baseline
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final ConcurrentHashMap<String, User> byEmail = new ConcurrentHashMap<>();
+
+    @Override
+    public User findByEmail(String email) {
+        return email == null ? null : byEmail.get(email);
+    }
+
+    @Override
+    public boolean add(User user) {
+        return byEmail.putIfAbsent(user.getEmail(), user) == null;
+    }
+
+    @Override
+    public int addAll(List<User> users) {
+        int added = 0;
+        for (User user : users) {
+            if (add(user)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public void put(User user) {
+        byEmail.put(user.getEmail(), user);
+    }
+
+    @Override
+    public synchronized void replaceAll(List<User> users) {
+        byEmail.clear();
+        for (User user : users) {
+            byEmail.put(user.getEmail(), user);
+        }
+    }
+
+    @Override
+    public List<User> getAll() {
+        return new ArrayList<>(byEmail.values());
+    }
+
+    @Override
+    public int size() {
+        return byEmail.size();
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+}
\ No newline at end of file
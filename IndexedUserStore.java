@@ -0,0 +1,206 @@
+package backend;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User store backed by an append-only file with an in-memory email index
+ *
+ * The file keeps the existing email|password|name line format. It is read
+ * once, on first use, into a hash index; after that lookups never touch the
+ * disk and a new user costs one appended line. A later line for an email
+ * replaces an earlier one, so a record can be updated by appending it again.
+ *
+ * This store assumes it is the only writer of the file while it is open.
+ */
+public class IndexedUserStore implements UserRepository {
+
+    private final Path file;
+    private final ConcurrentHashMap<String, User> byEmail = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+    // Set when the file does not end with a line break, e.g. after a torn append
+    private boolean needsLineBreak;
+
+    public IndexedUserStore(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        ensureLoaded();
+        return email == null ? null : byEmail.get(email);
+    }
+
+    public boolean contains(String email) {
+        return findByEmail(email) != null;
+    }
+
+    /**
+     * Adds the user unless one with the same email already exists.
+     * Returns false, without writing anything, if the email is taken.
+     */
+    @Override
+    public synchronized boolean add(User user) {
+        ensureLoaded();
+        if (byEmail.containsKey(user.getEmail())) {
+            return false;
+        }
+        append(Collections.singletonList(user));
+        byEmail.put(user.getEmail(), user);
+        return true;
+    }
+
+    @Override
+    public synchronized int addAll(List<User> users) {
+        ensureLoaded();
+        Map<String, User> fresh = new LinkedHashMap<>();
+        for (User user : users) {
+            if (!byEmail.containsKey(user.getEmail())) {
+                fresh.putIfAbsent(user.getEmail(), user);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return 0;
+        }
+
+        append(new ArrayList<>(fresh.values()));
+        byEmail.putAll(fresh);
+        return fresh.size();
+    }
+
+    /**
+     * Adds or replaces the user's record
+     */
+    @Override
+    public synchronized void put(User user) {
+        ensureLoaded();
+        append(Collections.singletonList(user));
+        byEmail.put(user.getEmail(), user);
+    }
+
+    /**
+     * Replaces the whole store with the given users, compacting the file
+     */
+    @Override
+    public synchronized void replaceAll(List<User> users) {
+        Map<String, User> latest = new LinkedHashMap<>();
+        for (User user : users) {
+            latest.put(user.getEmail(), user);
+        }
+
+        List<String> lines = new ArrayList<>(latest.size());
+        for (User user : latest.values()) {
+            lines.add(format(user));
+        }
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), "users", ".tmp");
+            Files.write(temp, lines, StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Error saving users file: " + e.getMessage());
+            return;
+        }
+
+        byEmail.clear();
+        byEmail.putAll(latest);
+        needsLineBreak = false;
+        loaded = true;
+    }
+
+    @Override
+    public List<User> getAll() {
+        ensureLoaded();
+        return new ArrayList<>(byEmail.values());
+    }
+
+    @Override
+    public int size() {
+        ensureLoaded();
+        return byEmail.size();
+    }
+
+    @Override
+    public void close() {
+        // Every append is written straight through; nothing to release
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                    loaded = true;
+                }
+            }
+        }
+    }
+
+    private void load() {
+        byEmail.clear();
+        needsLineBreak = false;
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                User user = parse(line);
+                if (user != null) {
+                    byEmail.put(user.getEmail(), user);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading users file: " + e.getMessage());
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+            if (raf.length() > 0) {
+                raf.seek(raf.length() - 1);
+                needsLineBreak = raf.read() != '\n';
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading users file: " + e.getMessage());
+        }
+    }
+
+    private void append(List<User> users) {
+        StringBuilder sb = new StringBuilder();
+        if (needsLineBreak) {
+            // Never glue a record onto a partial last line
+            sb.append(System.lineSeparator());
+        }
+        for (User user : users) {
+            sb.append(format(user)).append(System.lineSeparator());
+        }
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+            needsLineBreak = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error appending to users file", e);
+        }
+    }
+
+    static User parse(String line) {
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+        String[] parts = line.split("\\|");
+        if (parts.length != 3) {
+            return null;
+        }
+        return new User(parts[0], parts[1], parts[2]);
+    }
+
+    static String format(User user) {
+        return user.getEmail() + "|" + user.getPassword() + "|" + user.getName();
+    }
+}
\ No newline at end of file
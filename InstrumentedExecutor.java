@@ -0,0 +1,207 @@
+package backend;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, instrumented executor for backend work
+ *
+ * Runs each task on a virtual thread when the JVM supports them (JDK 21+)
+ * and on a fixed pool of platform threads otherwise. Either way at most
+ * maxConcurrent tasks run at once and at most maxQueued more may wait;
+ * anything beyond that is handled by the rejection policy.
+ */
+public class InstrumentedExecutor implements Executor {
+
+    public enum RejectionPolicy {
+        /** Throw RejectedExecutionException to the submitter */
+        ABORT,
+        /** Run the task on the submitting thread, slowing the submitter down */
+        CALLER_RUNS
+    }
+
+    // Upper bounds, in milliseconds, of the latency histogram buckets; the
+    // last bucket counts everything slower
+    private static final long[] LATENCY_BUCKETS_MS = {1, 5, 10, 50, 100, 500, 1000, 5000, 30000};
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final RejectionPolicy rejectionPolicy;
+    private final ExecutorService delegate;
+    private final boolean virtualThreads;
+    // Only needed for virtual threads; a platform pool is already capped by its size
+    private final Semaphore runPermits;
+
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLongArray latencyHistogram = new AtomicLongArray(LATENCY_BUCKETS_MS.length + 1);
+
+    public InstrumentedExecutor(String name, int maxConcurrent, int maxQueued,
+                                RejectionPolicy rejectionPolicy, boolean preferVirtualThreads) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+        this.rejectionPolicy = rejectionPolicy;
+
+        ExecutorService virtual = preferVirtualThreads ? newVirtualThreadExecutor() : null;
+        if (virtual != null) {
+            this.delegate = virtual;
+            this.virtualThreads = true;
+            this.runPermits = new Semaphore(maxConcurrent);
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.delegate = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+                Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.virtualThreads = false;
+            this.runPermits = null;
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Older JDK without virtual threads
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        execute(task, rejectionPolicy);
+    }
+
+    /**
+     * View of this executor that throws RejectedExecutionException when
+     * saturated, whatever the configured policy; for submitters such as a
+     * UI thread that must never run the task themselves
+     */
+    public Executor rejecting() {
+        return task -> execute(task, RejectionPolicy.ABORT);
+    }
+
+    private void execute(Runnable task, RejectionPolicy policy) {
+        if (pending.incrementAndGet() > maxConcurrent + maxQueued) {
+            pending.decrementAndGet();
+            reject(task, policy);
+            return;
+        }
+
+        try {
+            delegate.execute(() -> runTracked(task));
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            reject(task, policy);
+        }
+    }
+
+    private void runTracked(Runnable task) {
+        boolean permitted = false;
+        try {
+            if (runPermits != null) {
+                runPermits.acquire();
+                permitted = true;
+            }
+
+            active.incrementAndGet();
+            long start = System.nanoTime();
+            try {
+                task.run();
+                completed.incrementAndGet();
+            } catch (RuntimeException | Error e) {
+                failed.incrementAndGet();
+                throw e;
+            } finally {
+                active.decrementAndGet();
+                recordLatency(System.nanoTime() - start);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (permitted) {
+                runPermits.release();
+            }
+            pending.decrementAndGet();
+        }
+    }
+
+    private void reject(Runnable task, RejectionPolicy policy) {
+        rejected.incrementAndGet();
+        if (policy == RejectionPolicy.CALLER_RUNS && !delegate.isShutdown()) {
+            task.run();
+            return;
+        }
+        throw new RejectedExecutionException(name + " executor saturated (" +
+                maxConcurrent + " running, " + maxQueued + " queued)");
+    }
+
+    private void recordLatency(long nanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        int bucket = 0;
+        while (bucket < LATENCY_BUCKETS_MS.length && millis >= LATENCY_BUCKETS_MS[bucket]) {
+            bucket++;
+        }
+        latencyHistogram.incrementAndGet(bucket);
+    }
+
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    public String getName() { return name; }
+    public boolean usesVirtualThreads() { return virtualThreads; }
+    public int getActiveCount() { return active.get(); }
+    public int getQueuedCount() { return Math.max(0, pending.get() - active.get()); }
+    public long getCompletedCount() { return completed.get(); }
+    public long getFailedCount() { return failed.get(); }
+    public long getRejectedCount() { return rejected.get(); }
+
+    /**
+     * Task run-time counts per bucket; bucket i counts tasks faster than
+     * getLatencyBucketBounds()[i] ms, the last bucket everything slower
+     */
+    public long[] getLatencyHistogram() {
+        long[] counts = new long[latencyHistogram.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = latencyHistogram.get(i);
+        }
+        return counts;
+    }
+
+    public static long[] getLatencyBucketBounds() {
+        return LATENCY_BUCKETS_MS.clone();
+    }
+
+    public String getStats() {
+        StringBuilder histogram = new StringBuilder();
+        long[] counts = getLatencyHistogram();
+        for (int i = 0; i < counts.length; i++) {
+            if (i > 0) {
+                histogram.append(", ");
+            }
+            histogram.append(i < LATENCY_BUCKETS_MS.length ? "<" + LATENCY_BUCKETS_MS[i] + "ms" : ">=" + LATENCY_BUCKETS_MS[i - 1] + "ms")
+                     .append('=').append(counts[i]);
+        }
+
+        return "InstrumentedExecutor{name=" + name +
+                ", threads=" + (virtualThreads ? "virtual" : "platform") +
+                ", active=" + getActiveCount() + "/" + maxConcurrent +
+                ", queued=" + getQueuedCount() + "/" + maxQueued +
+                ", completed=" + completed.get() +
+                ", failed=" + failed.get() +
+                ", rejected=" + rejected.get() +
+                ", latency=[" + histogram + "]" +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,254 @@
+package backend;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Benchmark comparing CityDataBinder with the old parseJson + Map copy path
+ * Run with an optional list of list lengths per field, e.g. 5 20 100
+ *
+ * For each document size, time and bytes allocated per parse on this
+ * thread, twice: for the city JSON alone, and for a whole completion
+ * response as GroqApiService receives it (old: read into a String, parse
+ * the envelope and the content into trees; new: walk the envelope from
+ * the stream and bind the content). Allocation comes from
+ * com.sun.management.ThreadMXBean, so it needs a HotSpot-based JVM.
+ */
+public class JsonBindingBenchmark {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 50_000;
+
+    private static com.sun.management.ThreadMXBean threads;
+    // Written by every run so the JIT cannot drop the parses
+    private static long sink;
+
+    public static void main(String[] args) {
+        System.out.println("=== JSON Binding Benchmark ===");
+
+        int[] sizes = {5, 20, 100};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            System.out.println("Thread allocation counters are not supported by this JVM");
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        System.out.printf("%n%-9s %6s %8s %12s %12s %12s %12s %8s%n",
+            "input", "items", "bytes", "map us/op", "bind us/op", "map B/op", "bind B/op", "alloc %");
+        for (int size : sizes) {
+            String json = sampleJson(size);
+            byte[] response = sampleResponse(json).getBytes(StandardCharsets.UTF_8);
+
+            // Both paths must produce the same data before they are timed
+            String expected = CityDataBinder.toJson(parseViaMap(json));
+            if (!expected.equals(CityDataBinder.toJson(parseViaBinder(json)))
+                    || !expected.equals(CityDataBinder.toJson(parseResponseViaMap(response)))
+                    || !expected.equals(CityDataBinder.toJson(parseResponseViaBinder(response)))) {
+                throw new IllegalStateException("Map and binder paths disagree");
+            }
+
+            report("content", size, json.length(),
+                measure(() -> parseViaMap(json)), measure(() -> parseViaBinder(json)));
+            report("response", size, response.length,
+                measure(() -> parseResponseViaMap(response)), measure(() -> parseResponseViaBinder(response)));
+        }
+
+        System.out.println("\n=== Benchmark Complete ===");
+    }
+
+    /**
+     * Returns {microseconds, bytes allocated} per call
+     */
+    private static double[] measure(Supplier<CityData> parse) {
+        for (int i = 0; i < WARMUP; i++) {
+            sink += parse.get().getTouristSpots().size();
+        }
+        long allocStart = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += parse.get().getTouristSpots().size();
+        }
+        double micros = (System.nanoTime() - start) / 1e3 / ITERATIONS;
+        double bytes = (threads.getCurrentThreadAllocatedBytes() - allocStart) / (double) ITERATIONS;
+        return new double[] {micros, bytes};
+    }
+
+    private static void report(String input, int items, int length, double[] map, double[] bind) {
+        System.out.printf("%-9s %6d %8d %12.2f %12.2f %12.0f %12.0f %7.0f%%%n",
+            input, items, length, map[0], bind[0], map[1], bind[1], 100 * bind[1] / map[1]);
+    }
+
+    private static CityData parseViaBinder(String json) {
+        return CityDataBinder.bind(new JsonParser(json));
+    }
+
+    private static CityData parseResponseViaBinder(byte[] response) {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8)) {
+            return GroqApiService.parseApiResponse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The response path used before streaming and CityDataBinder: read the
+     * body into a String, parse the envelope into a tree, unescape and cut
+     * out the content, then parse and copy that as in parseViaMap
+     */
+    @SuppressWarnings("unchecked")
+    private static CityData parseResponseViaMap(byte[] response) {
+        StringBuilder body = new StringBuilder();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                body.append(line);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Map<String, Object> envelope = JsonParser.parseJson(body.toString());
+        List<Map<String, Object>> choices = (List<Map<String, Object>>) envelope.get("choices");
+        Map<String, Object> message = (Map<String, Object>) choices.get(0).get("message");
+        String content = (String) message.get("content");
+        content = content.replace("\\n", "\n").replace("\\r", "\r").replace("\\t", "\t");
+        return parseViaMap(content.substring(content.indexOf('{'), content.lastIndexOf('}') + 1));
+    }
+
+    /**
+     * The path used before CityDataBinder: build the whole Map/List tree,
+     * then copy it into CityData
+     */
+    @SuppressWarnings("unchecked")
+    private static CityData parseViaMap(String json) {
+        Map<String, Object> dataMap = JsonParser.parseJson(json);
+        CityData cityData = new CityData();
+
+        cityData.setCity((String) dataMap.get("city"));
+        cityData.setState((String) dataMap.get("state"));
+        cityData.setCountry((String) dataMap.get("country"));
+        cityData.setDescription((String) dataMap.get("description"));
+        cityData.setBestTimeToVisit((String) dataMap.get("bestTimeToVisit"));
+        cityData.setWeather((String) dataMap.get("weather"));
+        cityData.setTouristSpots(toStringList((List<Object>) dataMap.get("touristSpots")));
+        cityData.setFamousFood(toStringList((List<Object>) dataMap.get("famousFood")));
+        cityData.setRestaurants(toStringList((List<Object>) dataMap.get("restaurants")));
+        cityData.setStreetFood(toStringList((List<Object>) dataMap.get("streetFood")));
+        cityData.setAttractions(toStringList((List<Object>) dataMap.get("attractions")));
+        cityData.setThemeParks(toStringList((List<Object>) dataMap.get("themeParks")));
+        cityData.setFestivals(toStringList((List<Object>) dataMap.get("festivals")));
+        cityData.setHotels(toStringList((List<Object>) dataMap.get("hotels")));
+        cityData.setShoppingMarkets(toStringList((List<Object>) dataMap.get("shoppingMarkets")));
+        cityData.setNightlife(toStringList((List<Object>) dataMap.get("nightlife")));
+        cityData.setLocalTips(toStringList((List<Object>) dataMap.get("localTips")));
+        cityData.setLanguagesSpoken(toStringList((List<Object>) dataMap.get("languagesSpoken")));
+
+        Map<String, Object> transportationMap = (Map<String, Object>) dataMap.get("transportation");
+        if (transportationMap != null) {
+            CityData.Transportation transportation = new CityData.Transportation();
+            transportation.setLocal(toStringList((List<Object>) transportationMap.get("local")));
+            transportation.setAirport((String) transportationMap.get("airport"));
+            cityData.setTransportation(transportation);
+        }
+
+        Map<String, Object> emergencyMap = (Map<String, Object>) dataMap.get("emergencyContacts");
+        if (emergencyMap != null) {
+            CityData.EmergencyContacts emergency = new CityData.EmergencyContacts();
+            emergency.setPolice((String) emergencyMap.get("police"));
+            emergency.setAmbulance((String) emergencyMap.get("ambulance"));
+            emergency.setFire((String) emergencyMap.get("fire"));
+            cityData.setEmergencyContacts(emergency);
+        }
+        return cityData;
+    }
+
+    private static List<String> toStringList(List<Object> objectList) {
+        if (objectList == null) {
+            return null;
+        }
+        List<String> stringList = new ArrayList<>();
+        for (Object obj : objectList) {
+            if (obj != null) {
+                stringList.add(obj.toString());
+            }
+        }
+        return stringList;
+    }
+
+    /**
+     * A typical model response with items entries per list, plus a field
+     * CityData does not know about
+     */
+    private static String sampleJson(int items) {
+        CityData cityData = new CityData();
+        cityData.setCity("Lisbon");
+        cityData.setState("Lisbon District");
+        cityData.setCountry("Portugal");
+        cityData.setDescription("Hilly coastal capital known for its trams, tiled facades and riverside views.");
+        cityData.setBestTimeToVisit("March to May and September to October");
+        cityData.setWeather("Mediterranean, mild winters and warm dry summers");
+        cityData.setTouristSpots(items("Tourist spot", items));
+        cityData.setFamousFood(items("Famous food", items));
+        cityData.setRestaurants(items("Restaurant", items));
+        cityData.setStreetFood(items("Street food", items));
+        cityData.setAttractions(items("Attraction", items));
+        cityData.setThemeParks(items("Theme park", items));
+        cityData.setFestivals(items("Festival", items));
+        cityData.setHotels(items("Hotel", items));
+        cityData.setShoppingMarkets(items("Market", items));
+        cityData.setNightlife(items("Bar", items));
+        cityData.setLocalTips(items("Local tip about getting around the old town", items));
+        cityData.setLanguagesSpoken(Arrays.asList("Portuguese", "English"));
+        CityData.Transportation transportation = new CityData.Transportation();
+        transportation.setLocal(items("Tram line", items));
+        transportation.setAirport("Humberto Delgado Airport");
+        cityData.setTransportation(transportation);
+        CityData.EmergencyContacts emergency = new CityData.EmergencyContacts();
+        emergency.setPolice("112");
+        emergency.setAmbulance("112");
+        emergency.setFire("112");
+        cityData.setEmergencyContacts(emergency);
+
+        String json = CityDataBinder.toJson(cityData);
+        return json.substring(0, json.length() - 1)
+            + ",\"sources\":[{\"title\":\"Guide\",\"rank\":1,\"tags\":[\"a\",\"b\",\"c\"]}]}";
+    }
+
+    /**
+     * A chat completion envelope carrying json as its message content
+     */
+    private static String sampleResponse(String json) {
+        StringBuilder content = new StringBuilder("Here is the information:\\n");
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '"' || c == '\\') {
+                content.append('\\');
+            }
+            content.append(c);
+        }
+        return "{\"id\":\"chatcmpl-bench\",\"object\":\"chat.completion\",\"created\":1760000000,"
+            + "\"model\":\"llama-3.1-8b-instant\",\"choices\":[{\"index\":0,\"message\":{\"role\":\"assistant\","
+            + "\"content\":\"" + content + "\"},\"logprobs\":null,\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":180,\"completion_tokens\":900,\"total_tokens\":1080}}\n";
+    }
+
+    private static List<String> items(String prefix, int count) {
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(prefix + " " + (i + 1));
+        }
+        return values;
+    }
+}
\ No newline at end of file
@@ -1,245 +1,547 @@
-package backend;
-
-import java.util.*;
-
-/**
- * Simple JSON parser for parsing Groq API responses
- * No external libraries used
- */
-public class JsonParser {
-    
-    public static Map<String, Object> parseJson(String json) {
-        json = json.trim();
-        if (!json.startsWith("{") || !json.endsWith("}")) {
-            throw new IllegalArgumentException("Invalid JSON format");
-        }
-        
-        Map<String, Object> result = new HashMap<>();
-        json = json.substring(1, json.length() - 1); // Remove outer braces
-        
-        parseObject(json, result);
-        return result;
-    }
-    
-    private static void parseObject(String json, Map<String, Object> result) {
-        List<String> pairs = splitJsonPairs(json);
-        
-        for (String pair : pairs) {
-            int colonIndex = findColonIndex(pair);
-            if (colonIndex == -1) continue;
-            
-            String key = pair.substring(0, colonIndex).trim();
-            String value = pair.substring(colonIndex + 1).trim();
-            
-            // Remove quotes from key
-            if (key.startsWith("\"") && key.endsWith("\"")) {
-                key = key.substring(1, key.length() - 1);
-            }
-            
-            result.put(key, parseValue(value));
-        }
-    }
-    
-    private static Object parseValue(String value) {
-        value = value.trim();
-        
-        if (value.equals("null")) {
-            return null;
-        }
-        
-        if (value.equals("true")) {
-            return true;
-        }
-        
-        if (value.equals("false")) {
-            return false;
-        }
-        
-        if (value.startsWith("\"") && value.endsWith("\"")) {
-            // String value - handle escape sequences
-            String stringValue = value.substring(1, value.length() - 1);
-            return stringValue.replace("\\\\", "\\").replace("\\\"", "\"").replace("\\n", "\n").replace("\\r", "\r").replace("\\t", "\t");
-        }
-        
-        if (value.startsWith("[") && value.endsWith("]")) {
-            // Array value
-            return parseArray(value);
-        }
-        
-        if (value.startsWith("{") && value.endsWith("}")) {
-            // Object value
-            Map<String, Object> nestedObj = new HashMap<>();
-            parseObject(value.substring(1, value.length() - 1), nestedObj);
-            return nestedObj;
-        }
-        
-        // Try to parse as number
-        try {
-            if (value.contains(".")) {
-                return Double.parseDouble(value);
-            } else {
-                return Integer.parseInt(value);
-            }
-        } catch (NumberFormatException e) {
-            // Return as string if not a number
-            return value;
-        }
-    }
-    
-    private static List<Object> parseArray(String arrayStr) {
-        List<Object> result = new ArrayList<>();
-        arrayStr = arrayStr.substring(1, arrayStr.length() - 1); // Remove brackets
-        
-        if (arrayStr.trim().isEmpty()) {
-            return result;
-        }
-        
-        List<String> elements = splitJsonElements(arrayStr);
-        for (String element : elements) {
-            Object value = parseValue(element.trim());
-            result.add(value);
-        }
-        
-        return result;
-    }
-    
-    private static List<String> splitJsonPairs(String json) {
-        List<String> pairs = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        int braceLevel = 0;
-        int bracketLevel = 0;
-        boolean inString = false;
-        boolean escaped = false;
-        
-        for (int i = 0; i < json.length(); i++) {
-            char c = json.charAt(i);
-            
-            if (escaped) {
-                escaped = false;
-                current.append(c);
-                continue;
-            }
-            
-            if (c == '\\') {
-                escaped = true;
-                current.append(c);
-                continue;
-            }
-            
-            if (c == '"') {
-                inString = !inString;
-                current.append(c);
-                continue;
-            }
-            
-            if (!inString) {
-                if (c == '{') {
-                    braceLevel++;
-                } else if (c == '}') {
-                    braceLevel--;
-                } else if (c == '[') {
-                    bracketLevel++;
-                } else if (c == ']') {
-                    bracketLevel--;
-                } else if (c == ',' && braceLevel == 0 && bracketLevel == 0) {
-                    pairs.add(current.toString());
-                    current = new StringBuilder();
-                    continue;
-                }
-            }
-            
-            current.append(c);
-        }
-        
-        if (current.length() > 0) {
-            pairs.add(current.toString());
-        }
-        
-        return pairs;
-    }
-    
-    private static List<String> splitJsonElements(String json) {
-        List<String> elements = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        int braceLevel = 0;
-        int bracketLevel = 0;
-        boolean inString = false;
-        boolean escaped = false;
-        
-        for (int i = 0; i < json.length(); i++) {
-            char c = json.charAt(i);
-            
-            if (escaped) {
-                escaped = false;
-                current.append(c);
-                continue;
-            }
-            
-            if (c == '\\') {
-                escaped = true;
-                current.append(c);
-                continue;
-            }
-            
-            if (c == '"') {
-                inString = !inString;
-                current.append(c);
-                continue;
-            }
-            
-            if (!inString) {
-                if (c == '{') {
-                    braceLevel++;
-                } else if (c == '}') {
-                    braceLevel--;
-                } else if (c == '[') {
-                    bracketLevel++;
-                } else if (c == ']') {
-                    bracketLevel--;
-                } else if (c == ',' && braceLevel == 0 && bracketLevel == 0) {
-                    elements.add(current.toString());
-                    current = new StringBuilder();
-                    continue;
-                }
-            }
-            
-            current.append(c);
-        }
-        
-        if (current.length() > 0) {
-            elements.add(current.toString());
-        }
-        
-        return elements;
-    }
-    
-    private static int findColonIndex(String pair) {
-        boolean inString = false;
-        boolean escaped = false;
-        
-        for (int i = 0; i < pair.length(); i++) {
-            char c = pair.charAt(i);
-            
-            if (escaped) {
-                escaped = false;
-                continue;
-            }
-            
-            if (c == '\\') {
-                escaped = true;
-                continue;
-            }
-            
-            if (c == '"') {
-                inString = !inString;
-                continue;
-            }
-            
-            if (!inString && c == ':') {
-                return i;
-            }
-        }
-        
-        return -1;
-    }
+package backend;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Simple JSON parser for parsing Groq API responses
+ * No external libraries used
+ *
+ * Parses in a single left-to-right pass over the input, so nested values
+ * are never copied out into intermediate fragments before being parsed.
+ * Input can be a String or a Reader; a Reader is consumed incrementally
+ * through a small fixed buffer, so a response can be parsed while it is
+ * still arriving and is never held in memory as one String.
+ *
+ * Besides parseJson, which builds a Map/List tree, the parser can be used
+ * as a pull parser: call next() to walk the document event by event and
+ * bind values straight into model objects (see CityDataBinder).
+ */
+public class JsonParser {
+
+    /**
+     * Events reported by the pull API, in document order
+     */
+    public enum Event {
+        START_OBJECT,
+        END_OBJECT,
+        START_ARRAY,
+        END_ARRAY,
+        KEY_NAME,
+        VALUE_STRING,
+        VALUE_NUMBER,
+        VALUE_TRUE,
+        VALUE_FALSE,
+        VALUE_NULL
+    }
+
+    private static final int BUFFER_SIZE = 8192;
+
+    // Field names repeat across documents, so short ones are shared rather
+    // than allocated per parse. Racy by design: a slot holds an immutable
+    // String, and a lost update only costs one extra allocation.
+    private static final int MAX_CACHED_KEY_LENGTH = 32;
+    private static final String[] KEY_CACHE = new String[1024];
+
+    private final Reader reader;
+    private char[] buf;
+    private int pos;
+    private int limit;
+    // Number of characters consumed before the current buffer, for error positions
+    private long bufferOffset;
+
+    // Open containers, '{' or '[', innermost last
+    private char[] stack = new char[16];
+    private int depth;
+    private boolean started;
+    private boolean afterKey;
+    private boolean afterValue;
+
+    private Event currentEvent;
+    private String currentString;
+    private final StringBuilder scratch = new StringBuilder();
+
+    public JsonParser(String json) {
+        this.reader = null;
+        this.buf = json.toCharArray();
+        this.limit = buf.length;
+    }
+
+    /**
+     * Creates a parser that pulls characters from the reader on demand.
+     * The caller remains responsible for closing the reader.
+     */
+    public JsonParser(Reader reader) {
+        this.reader = reader;
+        this.buf = new char[BUFFER_SIZE];
+        this.limit = 0;
+    }
+
+    public static Map<String, Object> parseJson(String json) {
+        json = json.trim();
+        if (!json.startsWith("{") || !json.endsWith("}")) {
+            throw new IllegalArgumentException("Invalid JSON format");
+        }
+        return new JsonParser(json).readDocument();
+    }
+
+    /**
+     * Parses a JSON object streamed from the reader into a Map/List tree
+     */
+    public static Map<String, Object> parseJson(Reader reader) {
+        return new JsonParser(reader).readDocument();
+    }
+
+    private Map<String, Object> readDocument() {
+        Event first = next();
+        if (first != Event.START_OBJECT) {
+            throw new IllegalArgumentException("Invalid JSON format");
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> result = (Map<String, Object>) readTree(first);
+
+        skipWhitespace();
+        if (peek() != -1) {
+            throw error("Unexpected trailing content");
+        }
+        return result;
+    }
+
+    /**
+     * Returns true until the top-level value has been fully read
+     */
+    public boolean hasNext() {
+        return !started || depth > 0;
+    }
+
+    /**
+     * Advances to the next event
+     */
+    public Event next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more JSON events");
+        }
+        currentEvent = nextEvent();
+        return currentEvent;
+    }
+
+    /**
+     * Text of the current KEY_NAME, VALUE_STRING or VALUE_NUMBER event
+     */
+    public String getString() {
+        if (currentEvent != Event.KEY_NAME && currentEvent != Event.VALUE_STRING
+                && currentEvent != Event.VALUE_NUMBER) {
+            throw new IllegalStateException("No string value for event " + currentEvent);
+        }
+        return currentString;
+    }
+
+    /**
+     * Value of the current VALUE_NUMBER event as Integer, Long or Double
+     */
+    public Number getNumber() {
+        if (currentEvent != Event.VALUE_NUMBER) {
+            throw new IllegalStateException("No number value for event " + currentEvent);
+        }
+        return toNumber(currentString);
+    }
+
+    /**
+     * If the current event starts an object or array, skips to its matching
+     * end event without materialising any of its contents
+     */
+    public void skipChildren() {
+        if (currentEvent != Event.START_OBJECT && currentEvent != Event.START_ARRAY) {
+            return;
+        }
+
+        int level = 1;
+        boolean inString = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (inString) {
+                if (c == '\\') {
+                    read();
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                level++;
+            } else if (c == '}' || c == ']') {
+                if (--level == 0) {
+                    currentEvent = endContainer();
+                    return;
+                }
+            }
+        }
+
+        throw error("Unexpected end of input");
+    }
+
+    private Event nextEvent() {
+        skipWhitespace();
+
+        if (depth > 0 && !afterKey) {
+            boolean inObject = stack[depth - 1] == '{';
+            char close = inObject ? '}' : ']';
+
+            if (afterValue) {
+                if (consume(close)) {
+                    return endContainer();
+                }
+                expect(',');
+                afterValue = false;
+                skipWhitespace();
+            }
+
+            // Handles empty containers and tolerates a trailing comma
+            if (consume(close)) {
+                return endContainer();
+            }
+
+            if (inObject) {
+                currentString = parseKey();
+                skipWhitespace();
+                expect(':');
+                afterKey = true;
+                return Event.KEY_NAME;
+            }
+        }
+
+        afterKey = false;
+        return readValue();
+    }
+
+    private Event readValue() {
+        skipWhitespace();
+        int c = peek();
+        if (c == -1) {
+            throw error("Unexpected end of input");
+        }
+        started = true;
+
+        switch (c) {
+            case '{':
+            case '[':
+                pos++;
+                push((char) c);
+                afterValue = false;
+                return c == '{' ? Event.START_OBJECT : Event.START_ARRAY;
+            case '"':
+                currentString = parseString();
+                afterValue = true;
+                return Event.VALUE_STRING;
+            default:
+                afterValue = true;
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    currentString = scanNumber();
+                    return Event.VALUE_NUMBER;
+                }
+                return readLiteral();
+        }
+    }
+
+    private void push(char container) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = container;
+    }
+
+    private Event endContainer() {
+        char container = stack[--depth];
+        afterKey = false;
+        afterValue = true;
+        return container == '{' ? Event.END_OBJECT : Event.END_ARRAY;
+    }
+
+    private Object readTree(Event event) {
+        switch (event) {
+            case START_OBJECT: {
+                Map<String, Object> result = new HashMap<>();
+                while (next() != Event.END_OBJECT) {
+                    String key = currentString;
+                    result.put(key, readTree(next()));
+                }
+                return result;
+            }
+            case START_ARRAY: {
+                List<Object> result = new ArrayList<>();
+                Event element;
+                while ((element = next()) != Event.END_ARRAY) {
+                    result.add(readTree(element));
+                }
+                return result;
+            }
+            case VALUE_STRING:
+                return currentString;
+            case VALUE_NUMBER:
+                return toNumber(currentString);
+            case VALUE_TRUE:
+                return true;
+            case VALUE_FALSE:
+                return false;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw error("Unexpected " + event);
+        }
+    }
+
+    private String parseString() {
+        expect('"');
+
+        // Fast path: no escapes and no buffer refill, so the value comes
+        // straight out of the buffer
+        int start = pos;
+        while (pos < limit) {
+            char c = buf[pos];
+            if (c == '"') {
+                return new String(buf, start, pos++ - start);
+            }
+            if (c == '\\') {
+                break;
+            }
+            pos++;
+        }
+
+        StringBuilder sb = scratch;
+        sb.setLength(0);
+        sb.append(buf, start, pos - start);
+
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '"') {
+                return sb.toString();
+            }
+            if (c != '\\') {
+                sb.append((char) c);
+                continue;
+            }
+
+            int escaped = read();
+            switch (escaped) {
+                case '"': sb.append('"'); break;
+                case '\\': sb.append('\\'); break;
+                case '/': sb.append('/'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'u': sb.append(parseUnicodeEscape()); break;
+                case -1: throw error("Unterminated string");
+                default:
+                    throw error("Invalid escape sequence \\" + (char) escaped);
+            }
+        }
+
+        throw error("Unterminated string");
+    }
+
+    /**
+     * Same as parseString for an object key, but returns the cached
+     * instance of a short key when one has been seen before
+     */
+    private String parseKey() {
+        expect('"');
+
+        int start = pos;
+        int hash = 0;
+        while (pos < limit) {
+            char c = buf[pos];
+            if (c == '"') {
+                String key = canonicalKey(buf, start, pos - start, hash);
+                pos++;
+                return key;
+            }
+            if (c == '\\') {
+                break;
+            }
+            hash = 31 * hash + c;
+            pos++;
+        }
+
+        // Escapes or a buffer refill: the opening quote is still in the
+        // buffer, so back up and take the general path
+        pos = start - 1;
+        return parseString();
+    }
+
+    private static String canonicalKey(char[] chars, int start, int length, int hash) {
+        if (length > MAX_CACHED_KEY_LENGTH) {
+            return new String(chars, start, length);
+        }
+
+        int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE.length - 1);
+        String cached = KEY_CACHE[slot];
+        if (cached != null && cached.length() == length) {
+            int i = 0;
+            while (i < length && cached.charAt(i) == chars[start + i]) {
+                i++;
+            }
+            if (i == length) {
+                return cached;
+            }
+        }
+
+        String key = new String(chars, start, length);
+        KEY_CACHE[slot] = key;
+        return key;
+    }
+
+    private char parseUnicodeEscape() {
+        int code = 0;
+        for (int i = 0; i < 4; i++) {
+            int c = read();
+            if (c == -1) {
+                throw error("Incomplete unicode escape");
+            }
+            int digit = Character.digit((char) c, 16);
+            if (digit < 0) {
+                throw error("Invalid unicode escape");
+            }
+            code = (code << 4) | digit;
+        }
+        return (char) code;
+    }
+
+    private String scanNumber() {
+        StringBuilder sb = scratch;
+        sb.setLength(0);
+
+        int c;
+        while ((c = peek()) != -1) {
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                sb.append((char) c);
+                pos++;
+            } else {
+                break;
+            }
+        }
+        return sb.toString();
+    }
+
+    private Number toNumber(String number) {
+        boolean isDecimal = number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0;
+        try {
+            if (isDecimal) {
+                return Double.parseDouble(number);
+            }
+
+            long value = Long.parseLong(number);
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            // Integers beyond the long range still parse as doubles
+            try {
+                return Double.parseDouble(number);
+            } catch (NumberFormatException ignored) {
+                throw error("Invalid number " + number);
+            }
+        }
+    }
+
+    private Event readLiteral() {
+        StringBuilder sb = scratch;
+        sb.setLength(0);
+
+        int c;
+        while ((c = peek()) != -1) {
+            if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                break;
+            }
+            sb.append((char) c);
+            pos++;
+        }
+
+        String literal = sb.toString();
+        switch (literal) {
+            case "null":
+                return Event.VALUE_NULL;
+            case "true":
+                return Event.VALUE_TRUE;
+            case "false":
+                return Event.VALUE_FALSE;
+            default:
+                if (literal.isEmpty()) {
+                    throw error("Unexpected character '" + (char) c + "'");
+                }
+                // Report unquoted tokens as strings, as the model sometimes emits them
+                currentString = literal;
+                return Event.VALUE_STRING;
+        }
+    }
+
+    /**
+     * Next character without consuming it, or -1 at end of input
+     */
+    private int peek() {
+        if (pos >= limit && !fill()) {
+            return -1;
+        }
+        return buf[pos];
+    }
+
+    private int read() {
+        if (pos >= limit && !fill()) {
+            return -1;
+        }
+        return buf[pos++];
+    }
+
+    private boolean fill() {
+        if (reader == null) {
+            return false;
+        }
+
+        try {
+            bufferOffset += limit;
+            pos = 0;
+            limit = 0;
+            int n;
+            do {
+                n = reader.read(buf, 0, buf.length);
+            } while (n == 0);
+            if (n < 0) {
+                return false;
+            }
+            limit = n;
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading JSON input", e);
+        }
+    }
+
+    private void skipWhitespace() {
+        int c;
+        while ((c = peek()) != -1 && Character.isWhitespace(c)) {
+            pos++;
+        }
+    }
+
+    private boolean consume(char expected) {
+        if (peek() == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!consume(expected)) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + (bufferOffset + pos));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,582 @@
+package backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * User store kept in a memory-mapped binary file
+ *
+ * Layout:
+ *   header   64 bytes: magic, version, table capacity, user count, data end
+ *   table    capacity slots of 16 bytes: record offset (0 = empty), email hash
+ *   records  length-prefixed: int length, then email, password and name,
+ *            each as an unsigned short byte count followed by UTF-8 bytes
+ *
+ * The table is an open-addressing hash table with linear probing, so a
+ * lookup reads one or two slots and one record instead of parsing the
+ * file. Updating a user appends a new record and repoints its slot; the
+ * table is rebuilt at twice the size, dropping dead records, once it is
+ * 70% full.
+ *
+ * The OS may write dirty pages back in any order, so new records are
+ * forced to disk before any slot points at them. Slots and the header
+ * are forced afterwards, and open() repairs a header that missed the
+ * last slot update.
+ *
+ * A rebuild never replaces the mapped file, which Windows refuses while a
+ * mapping is open. It writes the next generation (users.db, then
+ * users.db.1, users.db.2, ...) under a temporary name without mapping it,
+ * renames it into place and switches to it; open() uses the newest
+ * generation. Older ones are deleted once nothing maps them, which on
+ * Windows may only be at a later open.
+ */
+public class MappedUserStore implements UserRepository {
+
+    private static final int MAGIC = 0x55534442; // "USDB"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 64;
+    private static final int SLOT_BYTES = 16;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final double MAX_LOAD = 0.7;
+
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int DATA_END_OFFSET = 16;
+
+    private final Path file;
+    private final Path legacyFile;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock; replaced whenever the file grows or is rebuilt
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private Path current;
+    private boolean opened;
+
+    public MappedUserStore(Path file, Path legacyFile) {
+        this.file = file;
+        this.legacyFile = legacyFile;
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        ensureOpen();
+
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(buffer, email.getBytes(StandardCharsets.UTF_8), hash(email));
+            long offset = slotOffset(buffer, slot);
+            return offset == 0 ? null : readRecord(buffer, offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean add(User user) {
+        return write(Collections.singletonList(user), false) > 0;
+    }
+
+    @Override
+    public int addAll(List<User> users) {
+        return write(users, false);
+    }
+
+    @Override
+    public void put(User user) {
+        write(Collections.singletonList(user), true);
+    }
+
+    @Override
+    public void replaceAll(List<User> users) {
+        Map<String, User> latest = new LinkedHashMap<>();
+        for (User user : users) {
+            latest.put(user.getEmail(), user);
+        }
+
+        lock.writeLock().lock();
+        try {
+            rebuild(latest.values(), tableCapacityFor(latest.size()));
+            opened = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error saving users to " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> getAll() {
+        ensureOpen();
+
+        lock.readLock().lock();
+        try {
+            return liveUsers(buffer);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        ensureOpen();
+
+        lock.readLock().lock();
+        try {
+            return buffer.getInt(COUNT_OFFSET);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (opened) {
+                buffer.force();
+                channel.close();
+                opened = false;
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing " + file + ": " + e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int write(List<User> users, boolean replace) {
+        ensureOpen();
+
+        lock.writeLock().lock();
+        try {
+            return writeLocked(users, replace);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing to " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends records for the users and points their slots at them; caller
+     * holds the write lock. Without replace, users whose email is already
+     * stored, or earlier in the list, are skipped. Returns how many were
+     * written.
+     */
+    private int writeLocked(List<User> users, boolean replace) throws IOException {
+        List<User> pending = new ArrayList<>(users.size());
+        Set<String> seen = new HashSet<>();
+        int newUsers = 0;
+        for (User user : users) {
+            if (!seen.add(user.getEmail()) && !replace) {
+                continue;
+            }
+            int slot = findSlot(buffer, user.getEmail().getBytes(StandardCharsets.UTF_8), hash(user.getEmail()));
+            boolean exists = slotOffset(buffer, slot) != 0;
+            if (exists && !replace) {
+                continue;
+            }
+            pending.add(user);
+            if (!exists) {
+                newUsers++;
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        int count = buffer.getInt(COUNT_OFFSET);
+        int capacity = buffer.getInt(CAPACITY_OFFSET);
+        if (count + newUsers > capacity * MAX_LOAD) {
+            rebuild(liveUsers(buffer), Math.max(capacity * 2, tableCapacityFor(count + newUsers)));
+        }
+
+        // Records first, and on disk before any slot refers to them: pages
+        // reach the disk in no particular order, so a slot written back
+        // ahead of its record would point at garbage after an OS crash
+        long dataStart = buffer.getLong(DATA_END_OFFSET);
+        long offset = dataStart;
+        long[] offsets = new long[pending.size()];
+        for (int i = 0; i < pending.size(); i++) {
+            byte[] record = encode(pending.get(i));
+            ensureMapped(offset + record.length);
+            put(buffer, offset, record);
+            offsets[i] = offset;
+            offset += record.length;
+        }
+        buffer.force((int) dataStart, (int) (offset - dataStart));
+
+        // Then slots and header, in either order as far as the disk goes;
+        // open() fixes up a header that is behind the slots
+        int[] slotPositions = new int[pending.size()];
+        count = buffer.getInt(COUNT_OFFSET);
+        for (int i = 0; i < pending.size(); i++) {
+            String email = pending.get(i).getEmail();
+            int hash = hash(email);
+            int slot = findSlot(buffer, email.getBytes(StandardCharsets.UTF_8), hash);
+            if (slotOffset(buffer, slot) == 0) {
+                count++;
+            }
+            slotPositions[i] = slotPosition(slot);
+            buffer.putLong(slotPositions[i], offsets[i]);
+            buffer.putInt(slotPositions[i] + 8, hash);
+        }
+        buffer.putLong(DATA_END_OFFSET, offset);
+        buffer.putInt(COUNT_OFFSET, count);
+
+        if (pending.size() == 1) {
+            // Only the pages just touched, not the whole mapping
+            buffer.force(slotPositions[0], SLOT_BYTES);
+            buffer.force(0, HEADER_BYTES);
+        } else {
+            // One sync for the whole batch
+            buffer.force();
+        }
+        return pending.size();
+    }
+
+    private void ensureOpen() {
+        lock.readLock().lock();
+        try {
+            if (opened) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (!opened) {
+                open();
+                opened = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening " + file, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void open() throws IOException {
+        long generation = latestGeneration();
+        if (generation < 0) {
+            List<User> users = legacyFile != null && Files.exists(legacyFile)
+                ? new IndexedUserStore(legacyFile).getAll()
+                : Collections.<User>emptyList();
+            rebuild(users, tableCapacityFor(users.size()));
+            if (!users.isEmpty()) {
+                System.out.println("Imported " + users.size() + " users from " + legacyFile + " into " + current);
+            }
+            return;
+        }
+
+        current = generationFile(generation);
+        channel = FileChannel.open(current, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (channel.size() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Not a user store file: " + current);
+        }
+        repairHeader();
+        deleteOlderGenerations(generation);
+    }
+
+    /**
+     * Brings the user count and data end in line with the table, for a
+     * crash that wrote slots back to disk but not the header
+     */
+    private void repairHeader() {
+        int capacity = buffer.getInt(CAPACITY_OFFSET);
+        int count = 0;
+        long dataEnd = buffer.getLong(DATA_END_OFFSET);
+        for (int slot = 0; slot < capacity; slot++) {
+            long offset = slotOffset(buffer, slot);
+            if (offset != 0) {
+                count++;
+                // Slots only point at records already on disk
+                dataEnd = Math.max(dataEnd, offset + 4 + buffer.getInt((int) offset));
+            }
+        }
+        if (count != buffer.getInt(COUNT_OFFSET) || dataEnd != buffer.getLong(DATA_END_OFFSET)) {
+            System.err.println("Repairing header of " + current + " after an unclean shutdown");
+            buffer.putInt(COUNT_OFFSET, count);
+            buffer.putLong(DATA_END_OFFSET, dataEnd);
+            buffer.force(0, HEADER_BYTES);
+        }
+    }
+
+    /**
+     * Writes the users, deduplicated by email, to the next generation with
+     * the given table capacity and switches to it
+     */
+    private void rebuild(Collection<User> users, int capacity) throws IOException {
+        Map<String, byte[]> records = new LinkedHashMap<>();
+        long dataBytes = 0;
+        for (User user : users) {
+            byte[] record = encode(user);
+            byte[] previous = records.put(user.getEmail(), record);
+            dataBytes += record.length - (previous == null ? 0 : previous.length);
+        }
+
+        // Header and table are built on the heap; records are streamed after them
+        long dataStart = HEADER_BYTES + (long) capacity * SLOT_BYTES;
+        if (dataStart > Integer.MAX_VALUE) {
+            throw new IOException("User store is full: " + file);
+        }
+        ByteBuffer table = ByteBuffer.allocate((int) dataStart);
+        table.putInt(0, MAGIC);
+        table.putInt(4, VERSION);
+        table.putInt(CAPACITY_OFFSET, capacity);
+        long offset = dataStart;
+        for (Map.Entry<String, byte[]> record : records.entrySet()) {
+            int hash = hash(record.getKey());
+            int position = slotPosition(emptySlot(table, hash));
+            table.putLong(position, offset);
+            table.putInt(position + 8, hash);
+            offset += record.getValue().length;
+        }
+        table.putInt(COUNT_OFFSET, records.size());
+        table.putLong(DATA_END_OFFSET, offset);
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, table);
+            ByteBuffer chunk = ByteBuffer.allocate(64 * 1024);
+            for (byte[] record : records.values()) {
+                if (record.length > chunk.remaining()) {
+                    chunk.flip();
+                    writeFully(out, chunk);
+                    chunk.clear();
+                }
+                if (record.length > chunk.capacity()) {
+                    writeFully(out, ByteBuffer.wrap(record));
+                } else {
+                    chunk.put(record);
+                }
+            }
+            chunk.flip();
+            writeFully(out, chunk);
+
+            // Leave room to append without growing straight away
+            long size = dataStart + Math.max(dataBytes * 2, 64 * 1024);
+            out.write(ByteBuffer.wrap(new byte[1]), size - 1);
+            out.force(true);
+        }
+
+        long generation = latestGeneration() + 1;
+        Path next = generationFile(generation);
+        Files.move(temp, next, StandardCopyOption.ATOMIC_MOVE);
+
+        if (channel != null) {
+            channel.close();
+        }
+        current = next;
+        channel = FileChannel.open(current, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        deleteOlderGenerations(generation);
+    }
+
+    /**
+     * users.db is generation 0, users.db.N generation N
+     */
+    private Path generationFile(long generation) {
+        return generation == 0 ? file : file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    /**
+     * Newest generation on disk, or -1 if there is none
+     */
+    private long latestGeneration() throws IOException {
+        SortedMap<Long, Path> generations = generations();
+        return generations.isEmpty() ? -1 : generations.lastKey();
+    }
+
+    private SortedMap<Long, Path> generations() throws IOException {
+        SortedMap<Long, Path> generations = new TreeMap<>();
+        Path parent = file.toAbsolutePath().getParent();
+        if (!Files.isDirectory(parent)) {
+            return generations;
+        }
+        if (Files.exists(file)) {
+            generations.put(0L, file);
+        }
+        String prefix = file.getFileName() + ".";
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(parent, prefix + "*")) {
+            for (Path sibling : siblings) {
+                String suffix = sibling.getFileName().toString().substring(prefix.length());
+                if (!suffix.isEmpty() && suffix.length() < 19 && suffix.chars().allMatch(Character::isDigit)) {
+                    generations.put(Long.parseLong(suffix), sibling);
+                }
+            }
+        }
+        return generations;
+    }
+
+    private void deleteOlderGenerations(long generation) throws IOException {
+        for (Path older : generations().headMap(generation).values()) {
+            try {
+                Files.deleteIfExists(older);
+            } catch (IOException e) {
+                // Still mapped (Windows unmaps on GC); a later open retries
+            }
+        }
+    }
+
+    private void ensureMapped(long end) throws IOException {
+        if (end <= buffer.capacity()) {
+            return;
+        }
+        long size = Math.max(end, (long) buffer.capacity() * 2);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("User store is full: " + file);
+        }
+        buffer.force();
+        // Extend the file, then map the larger region
+        channel.write(ByteBuffer.wrap(new byte[1]), size - 1);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    // ---- Table ----
+
+    /**
+     * Slot holding the email, or the empty slot where it would go
+     */
+    private static int findSlot(ByteBuffer map, byte[] email, int hash) {
+        int capacity = map.getInt(CAPACITY_OFFSET);
+        int mask = capacity - 1;
+        int slot = hash & mask;
+        while (true) {
+            int position = slotPosition(slot);
+            long offset = map.getLong(position);
+            if (offset == 0) {
+                return slot;
+            }
+            if (map.getInt(position + 8) == hash && emailMatches(map, offset, email)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * First empty slot for the hash; for building a table of distinct emails
+     */
+    private static int emptySlot(ByteBuffer map, int hash) {
+        int mask = map.getInt(CAPACITY_OFFSET) - 1;
+        int slot = hash & mask;
+        while (map.getLong(slotPosition(slot)) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static long slotOffset(ByteBuffer map, int slot) {
+        return map.getLong(slotPosition(slot));
+    }
+
+    private static int slotPosition(int slot) {
+        return HEADER_BYTES + slot * SLOT_BYTES;
+    }
+
+    private static int tableCapacityFor(int users) {
+        int capacity = INITIAL_CAPACITY;
+        while (users + 1 > capacity * MAX_LOAD) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    private static int hash(String email) {
+        // String.hashCode is specified, so the table stays valid across JVMs
+        int h = email.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static List<User> liveUsers(ByteBuffer map) {
+        int capacity = map.getInt(CAPACITY_OFFSET);
+        List<User> users = new ArrayList<>(map.getInt(COUNT_OFFSET));
+        for (int slot = 0; slot < capacity; slot++) {
+            long offset = slotOffset(map, slot);
+            if (offset != 0) {
+                users.add(readRecord(map, offset));
+            }
+        }
+        return users;
+    }
+
+    // ---- Records ----
+
+    private static byte[] encode(User user) {
+        byte[] email = nullToEmpty(user.getEmail()).getBytes(StandardCharsets.UTF_8);
+        byte[] password = nullToEmpty(user.getPassword()).getBytes(StandardCharsets.UTF_8);
+        byte[] name = nullToEmpty(user.getName()).getBytes(StandardCharsets.UTF_8);
+        if (email.length > 0xFFFF || password.length > 0xFFFF || name.length > 0xFFFF) {
+            throw new IllegalArgumentException("User field too long");
+        }
+
+        int length = 6 + email.length + password.length + name.length;
+        ByteBuffer record = ByteBuffer.allocate(4 + length);
+        record.putInt(length);
+        record.putShort((short) email.length).put(email);
+        record.putShort((short) password.length).put(password);
+        record.putShort((short) name.length).put(name);
+        return record.array();
+    }
+
+    private static User readRecord(ByteBuffer map, long offset) {
+        ByteBuffer record = map.duplicate();
+        record.position((int) offset + 4);
+        return new User(readField(record), readField(record), readField(record));
+    }
+
+    private static String readField(ByteBuffer record) {
+        byte[] bytes = new byte[record.getShort() & 0xFFFF];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean emailMatches(ByteBuffer map, long offset, byte[] email) {
+        int position = (int) offset + 4;
+        if ((map.getShort(position) & 0xFFFF) != email.length) {
+            return false;
+        }
+        position += 2;
+        for (int i = 0; i < email.length; i++) {
+            if (map.get(position + i) != email[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void put(ByteBuffer map, long offset, byte[] bytes) {
+        ByteBuffer target = map.duplicate();
+        target.position((int) offset);
+        target.put(bytes);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
\ No newline at end of file
@@ -1,80 +1,263 @@
-package backend;
-
-import java.io.*;
-import java.net.Socket;
-import java.util.ArrayList;
-import java.util.List;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-
-/**
- * MongoDB service for local MongoDB connection
- * Connects to mongodb://localhost:27017/userdetail
- * Stores user registration data only
- */
-public class MongoDBService {
-    
-    // Local MongoDB connection details
-    private static final String MONGODB_HOST = "localhost";
-    private static final int MONGODB_PORT = 27017;
-    private static final String DATABASE_NAME = "userdetail";
-    private static final String COLLECTION_NAME = "userdetails";
-    
-    // MongoDB connection check
-    private static boolean isMongoDBAvailable() {
-        try (Socket socket = new Socket()) {
-            socket.connect(new java.net.InetSocketAddress(MONGODB_HOST, MONGODB_PORT), 2000);
-            System.out.println("MongoDB connection successful at " + MONGODB_HOST + ":" + MONGODB_PORT);
-            return true;
-        } catch (Exception e) {
-            System.out.println("MongoDB not available at " + MONGODB_HOST + ":" + MONGODB_PORT + " - " + e.getMessage());
-            return false;
-        }
-    }
-    
-    /**
-     * Store user registration data in MongoDB
-     * This method only stores data, doesn't fetch
-     */
-    public static boolean createUser(User user) {
-        if (!isMongoDBAvailable()) {
-            System.out.println("MongoDB not available, falling back to file storage");
-            return false;
-        }
-        
-        // Use the direct MongoDB connector for direct storage
-        return DirectMongoDBConnector.storeUserRegistration(user);
-    }
-    
-    /**
-     * This service only stores data, doesn't fetch from MongoDB
-     * Returns null to fall back to file storage for authentication
-     */
-    public static User findUserByEmail(String email) {
-        System.out.println("MongoDB service configured for storage only, falling back to file storage for authentication");
-        return null;
-    }
-    
-    /**
-     * This service only stores data, doesn't fetch from MongoDB
-     * Returns empty list to fall back to file storage
-     */
-    public static List<User> getAllUsers() {
-        System.out.println("MongoDB service configured for storage only, falling back to file storage");
-        return new ArrayList<>();
-    }
-    
-    /**
-     * Get collection information
-     */
-    public static String getCollectionInfo() {
-        return DirectMongoDBConnector.getCollectionInfo();
-    }
-    
-    /**
-     * Test MongoDB connection
-     */
-    public static boolean testConnection() {
-        return isMongoDBAvailable();
-    }
+package backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * MongoDB service for local MongoDB connection
+ * Connects to mongodb://localhost:27017/userdetail
+ * Stores user registration data only
+ *
+ * Talks to mongod directly over the wire protocol (MongoWireClient), so an
+ * insert or find is one round trip on a pooled socket rather than a
+ * mongosh process per call. MongoHealthMonitor probes in the background;
+ * while its circuit is open calls fail fast instead of waiting on a
+ * connect timeout.
+ */
+public class MongoDBService {
+    
+    // Local MongoDB connection details
+    private static final String MONGODB_HOST = "localhost";
+    private static final int MONGODB_PORT = 27017;
+    private static final String DATABASE_NAME = "userdetail";
+    // Registrations have always been written to "userdetail" (singular)
+    private static final String COLLECTION_NAME = "userdetail";
+    private static final String REGISTRATION_TYPE = "user_registration";
+
+    private static final int CONNECT_TIMEOUT_MS = Integer.getInteger("mongodb.connect.timeout.ms", 2000);
+    private static final int READ_TIMEOUT_MS = Integer.getInteger("mongodb.read.timeout.ms", 5000);
+    private static final int MAX_CONNECTIONS = Integer.getInteger("mongodb.max.connections", 8);
+
+    private static final String HOST = System.getProperty("mongodb.host", MONGODB_HOST);
+    private static final int PORT = Integer.getInteger("mongodb.port", MONGODB_PORT);
+
+    private static final MongoWireClient CLIENT = new MongoWireClient(
+        HOST, PORT, CONNECT_TIMEOUT_MS, READ_TIMEOUT_MS, MAX_CONNECTIONS);
+
+    // Read path: unique email index, projected finds, read-through cache
+    private static final UserLookupCache USER_CACHE = new UserLookupCache(
+        Integer.getInteger("mongodb.cache.size", 1024),
+        Long.getLong("mongodb.cache.ttl.ms", 60_000));
+    private static final MongoUserRepository USERS = new MongoUserRepository(
+        CLIENT, DATABASE_NAME, COLLECTION_NAME, USER_CACHE);
+
+    private static final MongoHealthMonitor HEALTH = new MongoHealthMonitor(CLIENT::ping,
+        Long.getLong("mongodb.health.interval.ms", 5000),
+        Integer.getInteger("mongodb.breaker.failures", 2),
+        Long.getLong("mongodb.breaker.open.ms", 10000),
+        MongoDBService::ensureIndexes);
+
+    // Background registration delivery; see RegistrationQueue
+    private static final String SPOOL_FILE = System.getProperty("mongodb.spool", "data/mongo-spool.txt");
+    private static final int QUEUE_CAPACITY = Integer.getInteger("mongodb.queue.capacity", 1024);
+    private static final int BATCH_SIZE = Integer.getInteger("mongodb.batch.size", 100);
+    private static final long BATCH_LINGER_MS = Long.getLong("mongodb.batch.linger.ms", 50);
+    private static final long RETRY_MS = Long.getLong("mongodb.retry.ms", 1000);
+    private static final long DRAIN_TIMEOUT_MS = Long.getLong("mongodb.drain.timeout.ms", 5000);
+
+    private static RegistrationQueue registrationQueue;
+    
+    /**
+     * Starts the health monitor, whose first successful probe creates the
+     * email index, and the registration queue, which resends anything left
+     * in the spool; call at application startup
+     */
+    public static void initialize() {
+        System.out.println("MongoDB monitor started for " + HOST + ":" + PORT + " (" + HEALTH.getState() + ")");
+        getRegistrationQueue();
+    }
+
+    /**
+     * Creates the unique email index; runs on every (re)connect
+     */
+    static void ensureIndexes() {
+        try {
+            USERS.ensureIndexes();
+        } catch (MongoWireClient.CommandException e) {
+            // Existing duplicate emails; lookups still work, only slower
+            System.err.println("Could not create unique email index: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.err.println("Could not create email index: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Store user registration data in MongoDB
+     * Returns false if MongoDB is unreachable or rejects the insert
+     */
+    public static boolean createUser(User user) {
+        if (!HEALTH.allowRequest()) {
+            System.out.println("MongoDB not available (circuit " + HEALTH.getState() + "), skipping");
+            return false;
+        }
+        try {
+            CLIENT.insert(DATABASE_NAME, COLLECTION_NAME,
+                Collections.singletonList(registrationDocument(user)), true);
+            HEALTH.recordSuccess();
+            System.out.println("User registration stored in MongoDB: " + user.getEmail());
+            return true;
+        } catch (IOException e) {
+            HEALTH.recordFailure();
+            System.out.println("MongoDB not available at " + HOST + ":" + PORT + " - " + e.getMessage());
+            return false;
+        } catch (RuntimeException e) {
+            // The server answered; only the request was bad
+            HEALTH.recordSuccess();
+            System.out.println("MongoDB rejected the registration - " + e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Queues the registration for background delivery and returns at once
+     * Use this on the signup path; createUser waits for MongoDB.
+     */
+    public static void submitRegistration(User user) {
+        getRegistrationQueue().submit(user);
+    }
+
+    /**
+     * Started by initialize(), or on first use without it; a shutdown hook
+     * drains it on exit
+     */
+    public static synchronized RegistrationQueue getRegistrationQueue() {
+        if (registrationQueue == null) {
+            RegistrationQueue queue = new RegistrationQueue(CLIENT, HEALTH, DATABASE_NAME, COLLECTION_NAME,
+                Paths.get(SPOOL_FILE), QUEUE_CAPACITY, BATCH_SIZE, BATCH_LINGER_MS, RETRY_MS);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> queue.close(DRAIN_TIMEOUT_MS),
+                "mongo-registration-drain"));
+            registrationQueue = queue;
+        }
+        return registrationQueue;
+    }
+    
+    /**
+     * Looks up a registration by email, through the lookup cache
+     * Returns null if there is none or MongoDB is unreachable
+     */
+    public static User findUserByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        User cached = USER_CACHE.get(email);
+        if (cached != null || !HEALTH.allowRequest()) {
+            return cached;
+        }
+        try {
+            User user = USERS.load(email);
+            HEALTH.recordSuccess();
+            return user;
+        } catch (UncheckedIOException e) {
+            HEALTH.recordFailure();
+            System.out.println("MongoDB lookup failed - " + e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            HEALTH.recordSuccess();
+            System.out.println("MongoDB lookup failed - " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * Returns every registered user, or an empty list if MongoDB is unreachable
+     */
+    public static List<User> getAllUsers() {
+        List<User> users = new ArrayList<>();
+        if (!HEALTH.allowRequest()) {
+            return users;
+        }
+        try {
+            users = USERS.getAll();
+            HEALTH.recordSuccess();
+        } catch (UncheckedIOException e) {
+            HEALTH.recordFailure();
+            System.out.println("MongoDB query failed - " + e.getMessage());
+        } catch (RuntimeException e) {
+            HEALTH.recordSuccess();
+            System.out.println("MongoDB query failed - " + e.getMessage());
+        }
+        return users;
+    }
+    
+    /**
+     * Get collection information
+     */
+    public static String getCollectionInfo() {
+        return "Database: " + DATABASE_NAME + ", Collection: " + COLLECTION_NAME;
+    }
+    
+    /**
+     * Test MongoDB connection
+     * Reports the monitor's cached state; never blocks on the network
+     */
+    public static boolean testConnection() {
+        boolean available = HEALTH.isAvailable();
+        if (available) {
+            System.out.println("MongoDB connection successful at " + HOST + ":" + PORT);
+        } else {
+            System.out.println("MongoDB not available at " + HOST + ":" + PORT);
+        }
+        return available;
+    }
+
+    /**
+     * Shared client for other MongoDB-backed classes
+     */
+    static MongoWireClient getClient() {
+        return CLIENT;
+    }
+
+    public static UserLookupCache getUserCache() {
+        return USER_CACHE;
+    }
+
+    public static MongoHealthMonitor getHealthMonitor() {
+        return HEALTH;
+    }
+
+    static String getDatabaseName() {
+        return DATABASE_NAME;
+    }
+
+    static String getCollectionName() {
+        return COLLECTION_NAME;
+    }
+
+    /**
+     * Same document shape the mongosh connector stored
+     */
+    static Map<String, Object> registrationDocument(User user) {
+        return Bson.doc(
+            "type", REGISTRATION_TYPE,
+            "name", user.getName(),
+            "email", user.getEmail(),
+            "password", user.getPassword(),
+            "registeredAt", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+
+    static Map<String, Object> registrationFilter() {
+        return Bson.doc("type", REGISTRATION_TYPE);
+    }
+
+    static Map<String, Object> userProjection() {
+        return Bson.doc("_id", 0, "email", 1, "password", 1, "name", 1);
+    }
+
+    static User toUser(Map<String, Object> document) {
+        if (document == null || !(document.get("email") instanceof String)) {
+            return null;
+        }
+        Object password = document.get("password");
+        Object name = document.get("name");
+        return new User((String) document.get("email"),
+            password instanceof String ? (String) password : "",
+            name instanceof String ? (String) name : "");
+    }
 }
\ No newline at end of file
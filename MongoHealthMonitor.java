@@ -0,0 +1,204 @@
+package backend;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cached MongoDB health with circuit-breaker semantics
+ * A background probe pings the server on a schedule; callers ask
+ * allowRequest() instead of probing themselves, and report how their own
+ * calls went.
+ *
+ * CLOSED: requests allowed. failureThreshold consecutive failures, from
+ * probes or calls, open the circuit.
+ * OPEN: requests fail fast. After openMillis the next probe (or caller)
+ * gets a single trial in HALF_OPEN.
+ * HALF_OPEN: one trial in flight; success closes, failure reopens.
+ */
+public class MongoHealthMonitor {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final BooleanSupplier probe;
+    private final Runnable onConnected;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final ScheduledExecutorService scheduler;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    // Metrics
+    private final Map<State, AtomicLong> transitionsInto = new EnumMap<>(State.class);
+    private final AtomicLong probes = new AtomicLong();
+    private final AtomicLong probeFailures = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong totalProbeNanos = new AtomicLong();
+    private volatile long lastProbeNanos;
+    private volatile long maxProbeNanos;
+    private volatile long lastTransitionMillis = System.currentTimeMillis();
+    // Probe thread only
+    private boolean lastProbeHealthy;
+
+    /**
+     * onConnected, if not null, runs on the monitor thread after the first
+     * successful probe and after every probe that succeeds following a
+     * failed one, e.g. to set up indexes on a fresh server
+     */
+    public MongoHealthMonitor(BooleanSupplier probe, long probeIntervalMillis, int failureThreshold, long openMillis,
+                              Runnable onConnected) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be at least 1");
+        }
+        this.probe = probe;
+        this.onConnected = onConnected;
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        for (State s : State.values()) {
+            transitionsInto.put(s, new AtomicLong());
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mongo-health-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::probeNow, 0, probeIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * True if a call to MongoDB may go ahead. In HALF_OPEN only one caller
+     * gets through; it must report back with recordSuccess or recordFailure.
+     */
+    public boolean allowRequest() {
+        if (tryPass()) {
+            return true;
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAtNanos = System.nanoTime();
+            transition(State.OPEN);
+        }
+    }
+
+    /**
+     * Pings now and updates the state; skipped while the circuit is open
+     * and not yet due for a trial
+     */
+    public void probeNow() {
+        if (!tryPass()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean healthy;
+        try {
+            healthy = probe.getAsBoolean();
+        } catch (RuntimeException e) {
+            healthy = false;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        probes.incrementAndGet();
+        totalProbeNanos.addAndGet(elapsed);
+        lastProbeNanos = elapsed;
+        if (elapsed > maxProbeNanos) {
+            maxProbeNanos = elapsed;
+        }
+
+        if (healthy) {
+            recordSuccess();
+        } else {
+            probeFailures.incrementAndGet();
+            recordFailure();
+        }
+
+        boolean reconnected = healthy && !lastProbeHealthy;
+        lastProbeHealthy = healthy;
+        if (reconnected && onConnected != null) {
+            try {
+                onConnected.run();
+            } catch (RuntimeException e) {
+                System.err.println("MongoDB connect hook failed: " + e.getMessage());
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Cached answer; does not touch the network
+     */
+    public boolean isAvailable() {
+        return getState() == State.CLOSED;
+    }
+
+    public long getTransitionsInto(State target) {
+        return transitionsInto.get(target).get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    public double getLastProbeMillis() {
+        return lastProbeNanos / 1_000_000.0;
+    }
+
+    public String getStats() {
+        long probeCount = probes.get();
+        return String.format(
+            "state=%s since=%dms opened=%d halfOpened=%d closed=%d rejected=%d probes=%d probeFailures=%d probeMs(last=%.2f avg=%.2f max=%.2f)",
+            getState(), System.currentTimeMillis() - lastTransitionMillis,
+            getTransitionsInto(State.OPEN), getTransitionsInto(State.HALF_OPEN), getTransitionsInto(State.CLOSED),
+            rejected.get(), probeCount, probeFailures.get(),
+            lastProbeNanos / 1e6, probeCount == 0 ? 0.0 : totalProbeNanos.get() / 1e6 / probeCount, maxProbeNanos / 1e6);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private synchronized boolean tryPass() {
+        if (state == State.OPEN && System.nanoTime() - openedAtNanos >= openNanos) {
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    // Caller holds the lock
+    private void transition(State target) {
+        State previous = state;
+        state = target;
+        transitionsInto.get(target).incrementAndGet();
+        lastTransitionMillis = System.currentTimeMillis();
+        System.out.println("MongoDB circuit " + previous + " -> " + target);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,200 @@
+package backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * User repository that reads and writes the MongoDB registration documents
+ * Documents live in userdetail.userdetail with type 'user_registration',
+ * the same shape MongoDBService stores.
+ *
+ * Uses the shared MongoWireClient, so each call is one or two round trips
+ * on a pooled connection; addAll is still worth using for bulk loads since
+ * it is a single unordered insert.
+ *
+ * Lookups fetch only email, password and name through the unique email
+ * index (see ensureIndexes) and go through a UserLookupCache.
+ */
+public class MongoUserRepository implements UserRepository {
+
+    private final MongoWireClient client;
+    private final String database;
+    private final String collection;
+    private final UserLookupCache cache;
+
+    public MongoUserRepository() {
+        this(MongoDBService.getClient(), MongoDBService.getDatabaseName(), MongoDBService.getCollectionName(),
+            MongoDBService.getUserCache());
+    }
+
+    /**
+     * cache may be null to always read from MongoDB
+     */
+    public MongoUserRepository(MongoWireClient client, String database, String collection, UserLookupCache cache) {
+        this.client = client;
+        this.database = database;
+        this.collection = collection;
+        this.cache = cache;
+    }
+
+    /**
+     * Creates the unique index on email that lookups rely on; idempotent.
+     * Partial on the registration type, so other documents in the
+     * collection are not constrained.
+     */
+    public void ensureIndexes() {
+        try {
+            client.command(database, Bson.doc(
+                "createIndexes", collection,
+                "indexes", Collections.singletonList(Bson.doc(
+                    "key", Bson.doc("email", 1),
+                    "name", "email_unique",
+                    "unique", true,
+                    "partialFilterExpression", MongoDBService.registrationFilter()))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("MongoDB index creation failed", e);
+        }
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        if (email == null) {
+            return null;
+        }
+        if (cache != null) {
+            User cached = cache.get(email);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return load(email);
+    }
+
+    /**
+     * Reads from MongoDB, skipping the cache lookup but filling the cache
+     */
+    User load(String email) {
+        try {
+            User user = MongoDBService.toUser(client.findOne(database, collection, byEmail(email), MongoDBService.userProjection()));
+            if (user != null && cache != null) {
+                cache.put(user);
+            }
+            return user;
+        } catch (IOException e) {
+            throw new UncheckedIOException("MongoDB query failed", e);
+        }
+    }
+
+    @Override
+    public boolean add(User user) {
+        try {
+            if (client.findOne(database, collection, byEmail(user.getEmail()), Bson.doc("_id", 1)) != null) {
+                return false;
+            }
+            client.insert(database, collection, Collections.singletonList(MongoDBService.registrationDocument(user)), true);
+            return true;
+        } catch (MongoWireClient.CommandException e) {
+            if (e.isDuplicateKey()) {
+                return false;
+            }
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException("MongoDB insert failed", e);
+        }
+    }
+
+    @Override
+    public int addAll(List<User> users) {
+        if (users.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            List<String> emails = new ArrayList<>(users.size());
+            for (User user : users) {
+                emails.add(user.getEmail());
+            }
+
+            // Skips emails already stored, and repeats within the batch
+            Set<String> seen = new HashSet<>();
+            Map<String, Object> filter = MongoDBService.registrationFilter();
+            filter.put("email", Bson.doc("$in", emails));
+            for (Map<String, Object> existing : client.find(database, collection, filter, Bson.doc("_id", 0, "email", 1), 0)) {
+                seen.add((String) existing.get("email"));
+            }
+
+            List<Map<String, Object>> fresh = new ArrayList<>();
+            for (User user : users) {
+                if (seen.add(user.getEmail())) {
+                    fresh.add(MongoDBService.registrationDocument(user));
+                }
+            }
+            return client.insert(database, collection, fresh, false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("MongoDB insert failed", e);
+        }
+    }
+
+    @Override
+    public void put(User user) {
+        try {
+            client.replaceOne(database, collection, byEmail(user.getEmail()), MongoDBService.registrationDocument(user), true);
+            if (cache != null) {
+                cache.invalidate(user.getEmail());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("MongoDB update failed", e);
+        }
+    }
+
+    @Override
+    public void replaceAll(List<User> users) {
+        try {
+            client.deleteMany(database, collection, MongoDBService.registrationFilter());
+            if (cache != null) {
+                cache.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("MongoDB delete failed", e);
+        }
+        addAll(users);
+    }
+
+    @Override
+    public List<User> getAll() {
+        try {
+            List<User> users = new ArrayList<>();
+            for (Map<String, Object> document : client.find(database, collection,
+                    MongoDBService.registrationFilter(), MongoDBService.userProjection(), 0)) {
+                User user = MongoDBService.toUser(document);
+                if (user != null) {
+                    users.add(user);
+                }
+            }
+            return users;
+        } catch (IOException e) {
+            throw new UncheckedIOException("MongoDB query failed", e);
+        }
+    }
+
+    @Override
+    public int size() {
+        try {
+            return (int) client.count(database, collection, MongoDBService.registrationFilter());
+        } catch (IOException e) {
+            throw new UncheckedIOException("MongoDB query failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        // The client is shared with MongoDBService and stays open
+    }
+
+    private static Map<String, Object> byEmail(String email) {
+        Map<String, Object> filter = MongoDBService.registrationFilter();
+        filter.put("email", email);
+        return filter;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,385 @@
+package backend;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lightweight in-process MongoDB client speaking OP_MSG over pooled sockets
+ * No driver dependency; documents are Maps encoded with Bson
+ *
+ * Each command takes one of maxConnections slots, reuses an idle socket
+ * (or opens one), sends one OP_MSG and reads the reply. Sockets that fail
+ * are closed rather than returned. If a pooled socket turns out to be stale
+ * (the write fails, or it is reset or closed before any reply byte) the idle
+ * ones are dropped and the command is sent once more on a fresh connection,
+ * so a restarted mongod does not fail callers. Any other failure, a read
+ * timeout in particular, is not retried: the command may already have run,
+ * and an insert must not run twice. No authentication or TLS: the target
+ * is the local mongod.
+ */
+public class MongoWireClient {
+
+    private static final int OP_MSG = 2013;
+    private static final int HEADER_BYTES = 16;
+    private static final int MAX_MESSAGE_BYTES = 48 * 1024 * 1024;
+
+    private final String host;
+    private final int port;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final ArrayBlockingQueue<Connection> idle;
+    private final Semaphore connectionSlots;
+    private final AtomicInteger requestIds = new AtomicInteger();
+    private volatile boolean closed;
+
+    public MongoWireClient(String host, int port, int connectTimeoutMillis, int readTimeoutMillis, int maxConnections) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("maxConnections must be at least 1");
+        }
+        this.host = host;
+        this.port = port;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.readTimeoutMillis = readTimeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(maxConnections);
+        this.connectionSlots = new Semaphore(maxConnections);
+    }
+
+    /**
+     * Server rejected a command, or reported a write error
+     * Code 11000 is a duplicate key. For write errors, getCode() is the
+     * first one's and getWriteErrors() maps each failed document's index in
+     * the request to its code; it is empty when the whole command failed
+     * (ok: 0), in which case nothing was written.
+     */
+    public static class CommandException extends RuntimeException {
+        private final int code;
+        private final Map<Integer, Integer> writeErrors;
+
+        public CommandException(int code, String message) {
+            this(code, message, Collections.<Integer, Integer>emptyMap());
+        }
+
+        public CommandException(int code, String message, Map<Integer, Integer> writeErrors) {
+            super(message);
+            this.code = code;
+            this.writeErrors = Collections.unmodifiableMap(writeErrors);
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public boolean isDuplicateKey() {
+            return isDuplicateKey(code);
+        }
+
+        public Map<Integer, Integer> getWriteErrors() {
+            return writeErrors;
+        }
+
+        public static boolean isDuplicateKey(int code) {
+            return code == 11000 || code == 11001;
+        }
+    }
+
+    /**
+     * Runs a command against the database and returns the reply document
+     * The command name must be the first key of the map.
+     */
+    public Map<String, Object> command(String database, Map<String, Object> command) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>(command);
+        body.put("$db", database);
+        byte[] encoded = Bson.encode(body);
+
+        acquireSlot();
+        try {
+            Connection connection = idle.poll();
+            if (connection != null) {
+                try {
+                    return send(connection, encoded);
+                } catch (StaleConnectionException e) {
+                    // A pooled socket failing usually means mongod restarted;
+                    // the other idle sockets are stale too
+                    drainIdle();
+                }
+            }
+            return send(new Connection(), encoded);
+        } finally {
+            connectionSlots.release();
+        }
+    }
+
+    public boolean ping() {
+        try {
+            command("admin", Bson.doc("ping", 1));
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Inserts the documents and returns how many the server stored
+     * Unordered inserts keep going past duplicates; the first write error
+     * is still thrown once the batch is done.
+     */
+    public int insert(String database, String collection, List<Map<String, Object>> documents, boolean ordered) throws IOException {
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> reply = command(database, Bson.doc(
+            "insert", collection,
+            "documents", documents,
+            "ordered", ordered));
+        return intValue(reply.get("n"));
+    }
+
+    /**
+     * Returns every document matching the filter, following the cursor
+     * A limit of 0 means no limit.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> find(String database, String collection, Map<String, Object> filter,
+                                          Map<String, Object> projection, int limit) throws IOException {
+        Map<String, Object> find = Bson.doc("find", collection, "filter", filter);
+        if (projection != null) {
+            find.put("projection", projection);
+        }
+        if (limit > 0) {
+            find.put("limit", limit);
+            find.put("singleBatch", true);
+        }
+
+        Map<String, Object> cursor = (Map<String, Object>) command(database, find).get("cursor");
+        List<Map<String, Object>> results = new ArrayList<>();
+        addBatch(results, cursor.get("firstBatch"));
+
+        long cursorId = longValue(cursor.get("id"));
+        while (cursorId != 0) {
+            cursor = (Map<String, Object>) command(database, Bson.doc(
+                "getMore", cursorId,
+                "collection", collection)).get("cursor");
+            addBatch(results, cursor.get("nextBatch"));
+            cursorId = longValue(cursor.get("id"));
+        }
+        return results;
+    }
+
+    public Map<String, Object> findOne(String database, String collection, Map<String, Object> filter,
+                                       Map<String, Object> projection) throws IOException {
+        List<Map<String, Object>> results = find(database, collection, filter, projection, 1);
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    public long count(String database, String collection, Map<String, Object> filter) throws IOException {
+        return longValue(command(database, Bson.doc("count", collection, "query", filter)).get("n"));
+    }
+
+    /**
+     * Replaces the first match, inserting the document if nothing matches
+     */
+    public void replaceOne(String database, String collection, Map<String, Object> filter,
+                           Map<String, Object> replacement, boolean upsert) throws IOException {
+        command(database, Bson.doc(
+            "update", collection,
+            "updates", Collections.singletonList(Bson.doc("q", filter, "u", replacement, "upsert", upsert))));
+    }
+
+    public long deleteMany(String database, String collection, Map<String, Object> filter) throws IOException {
+        Map<String, Object> reply = command(database, Bson.doc(
+            "delete", collection,
+            "deletes", Collections.singletonList(Bson.doc("q", filter, "limit", 0))));
+        return longValue(reply.get("n"));
+    }
+
+    public void close() {
+        closed = true;
+        drainIdle();
+    }
+
+    private void acquireSlot() throws IOException {
+        if (closed) {
+            throw new IOException("MongoDB client is closed");
+        }
+        try {
+            if (!connectionSlots.tryAcquire(connectTimeoutMillis + readTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out waiting for a MongoDB connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a MongoDB connection");
+        }
+    }
+
+    /**
+     * Runs one round trip; the connection goes back to the pool unless
+     * the socket failed
+     */
+    private Map<String, Object> send(Connection connection, byte[] body) throws IOException {
+        Map<String, Object> reply;
+        try {
+            reply = connection.roundTrip(requestIds.incrementAndGet(), body);
+        } catch (IOException e) {
+            connection.close();
+            throw e instanceof EOFException ? new IOException("MongoDB closed the connection", e) : e;
+        }
+        if (closed || !idle.offer(connection)) {
+            connection.close();
+        }
+        checkReply(reply);
+        return reply;
+    }
+
+    /**
+     * The socket failed before the server could have answered: the request
+     * was not written, or the connection was reset or closed before any
+     * reply byte arrived. This is how a socket kept across a mongod restart
+     * fails, and the only failure command() retries.
+     */
+    private static class StaleConnectionException extends IOException {
+        StaleConnectionException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private void drainIdle() {
+        Connection connection;
+        while ((connection = idle.poll()) != null) {
+            connection.close();
+        }
+    }
+
+    private static void checkReply(Map<String, Object> reply) {
+        if (doubleValue(reply.get("ok")) != 1.0) {
+            throw new CommandException(intValue(reply.get("code")), "MongoDB command failed: " + reply.get("errmsg"));
+        }
+        Object writeErrors = reply.get("writeErrors");
+        if (writeErrors instanceof List && !((List<?>) writeErrors).isEmpty()) {
+            Map<Integer, Integer> codes = new LinkedHashMap<>();
+            for (Object error : (List<?>) writeErrors) {
+                codes.put(intValue(((Map<?, ?>) error).get("index")), intValue(((Map<?, ?>) error).get("code")));
+            }
+            Map<?, ?> first = (Map<?, ?>) ((List<?>) writeErrors).get(0);
+            throw new CommandException(intValue(first.get("code")), "MongoDB write failed: " + first.get("errmsg"), codes);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void addBatch(List<Map<String, Object>> results, Object batch) {
+        if (batch instanceof List) {
+            for (Object document : (List<?>) batch) {
+                results.add((Map<String, Object>) document);
+            }
+        }
+    }
+
+    private static int intValue(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : 0;
+    }
+
+    private static long longValue(Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
+    private static double doubleValue(Object value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1.0 : 0.0;
+        }
+        return value instanceof Number ? ((Number) value).doubleValue() : 0.0;
+    }
+
+    /**
+     * One socket; used by a single caller at a time
+     */
+    private class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final OutputStream out;
+
+        Connection() throws IOException {
+            socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(host, port), connectTimeoutMillis);
+                socket.setSoTimeout(readTimeoutMillis);
+                socket.setTcpNoDelay(true);
+                in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                out = new BufferedOutputStream(socket.getOutputStream());
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        Map<String, Object> roundTrip(int requestId, byte[] body) throws IOException {
+            // Header, flagBits, then a single kind-0 section holding the body
+            int length = HEADER_BYTES + 4 + 1 + body.length;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + 5).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(length).putInt(requestId).putInt(0).putInt(OP_MSG);
+            header.putInt(0);
+            header.put((byte) 0);
+            try {
+                out.write(header.array());
+                out.write(body);
+                out.flush();
+            } catch (IOException e) {
+                throw new StaleConnectionException("Could not send to MongoDB", e);
+            }
+
+            byte[] replyHeader = new byte[HEADER_BYTES];
+            int first;
+            try {
+                first = in.read();
+            } catch (SocketException e) {
+                // Reset; a SocketTimeoutException is not a SocketException
+                // and propagates as is
+                throw new StaleConnectionException("MongoDB reset the connection", e);
+            }
+            if (first < 0) {
+                throw new StaleConnectionException("MongoDB closed the connection", null);
+            }
+            replyHeader[0] = (byte) first;
+            in.readFully(replyHeader, 1, HEADER_BYTES - 1);
+            ByteBuffer reply = ByteBuffer.wrap(replyHeader).order(ByteOrder.LITTLE_ENDIAN);
+            int replyLength = reply.getInt();
+            reply.getInt(); // requestID
+            int responseTo = reply.getInt();
+            int opCode = reply.getInt();
+            if (replyLength < HEADER_BYTES + 5 || replyLength > MAX_MESSAGE_BYTES) {
+                throw new IOException("Invalid MongoDB reply length " + replyLength);
+            }
+            if (responseTo != requestId || opCode != OP_MSG) {
+                throw new IOException("Unexpected MongoDB reply (opCode " + opCode + ", responseTo " + responseTo + ")");
+            }
+
+            byte[] payload = new byte[replyLength - HEADER_BYTES];
+            in.readFully(payload);
+            ByteBuffer message = ByteBuffer.wrap(payload).order(ByteOrder.LITTLE_ENDIAN);
+            message.getInt(); // flagBits
+            if (message.get() != 0) {
+                throw new IOException("Unexpected MongoDB reply section");
+            }
+            try {
+                return Bson.decode(message);
+            } catch (RuntimeException e) {
+                throw new IOException("Malformed MongoDB reply", e);
+            }
+        }
+
+        void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already unusable
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package backend;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Measures PBKDF2 cost at several work factors to help pick
+ * auth.pbkdf2.iterations for the hardware
+ * Run with an optional list of iteration counts, e.g. 100000 210000 600000
+ *
+ * For each setting: single-thread verify latency (median and p99), then
+ * verifications per second through a pool of backend.hashing.maxConcurrent
+ * threads, which is what a login burst sees.
+ */
+public class PasswordHashBenchmark {
+
+    private static final int WARMUP = 5;
+    private static final int SAMPLES = 30;
+    private static final int BURST = 64;
+    // Rough guidance: a login should stay well under this
+    private static final double TARGET_MS = 250;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("=== Password Hash Benchmark ===");
+
+        int[] settings = {50_000, 100_000, 210_000, 310_000, 600_000};
+        if (args.length > 0) {
+            settings = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                settings[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        int threads = Integer.getInteger("backend.hashing.maxConcurrent",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        System.out.println("Cores: " + Runtime.getRuntime().availableProcessors() + ", hashing threads: " + threads
+            + ", current setting: " + PasswordHasher.getIterations());
+        System.out.printf("%n%10s %12s %12s %14s%n", "iterations", "median ms", "p99 ms", "verifies/s");
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int iterations : settings) {
+                runBenchmark(iterations, pool);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        System.out.println("\nPick the largest setting whose median stays under about "
+            + (int) TARGET_MS + " ms and whose throughput covers peak logins.");
+        System.out.println("\n=== Benchmark Complete ===");
+    }
+
+    private static void runBenchmark(int iterations, ExecutorService pool) throws Exception {
+        String stored = PasswordHasher.hash("correct horse battery", iterations);
+        for (int i = 0; i < WARMUP; i++) {
+            PasswordHasher.verify("correct horse battery", stored);
+        }
+
+        double[] latencies = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            if (!PasswordHasher.verify(i % 2 == 0 ? "correct horse battery" : "wrong password", stored) && i % 2 == 0) {
+                throw new IllegalStateException("Verification failed");
+            }
+            latencies[i] = (System.nanoTime() - start) / 1e6;
+        }
+        Arrays.sort(latencies);
+
+        List<Callable<Boolean>> burst = new ArrayList<>(BURST);
+        for (int i = 0; i < BURST; i++) {
+            burst.add(() -> PasswordHasher.verify("correct horse battery", stored));
+        }
+        long start = System.nanoTime();
+        for (Future<Boolean> result : pool.invokeAll(burst)) {
+            result.get();
+        }
+        double throughput = BURST / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%10d %12.1f %12.1f %14.1f%n",
+            iterations, latencies[SAMPLES / 2], latencies[(int) (SAMPLES * 0.99)], throughput);
+    }
+}
\ No newline at end of file
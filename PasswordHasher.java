@@ -0,0 +1,171 @@
+package backend;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * Salted PBKDF2-HMAC-SHA256 password hashing
+ * Stored form: pbkdf2-sha256$iterations$salt$hash (salt and hash in Base64),
+ * so the work factor can be raised without invalidating old hashes.
+ *
+ * The work factor comes from auth.pbkdf2.iterations (default 600000, the
+ * OWASP figure for SHA-256); run PasswordHashBenchmark to pick one for the
+ * hardware. Hashes with fewer iterations, and plain-text passwords from
+ * before hashing, still verify and report needsRehash so the caller can
+ * upgrade them. Hashes claiming more than 10x the work factor are treated
+ * as corrupt.
+ *
+ * The async variants run on BackendExecutors.hashing(), which is bounded
+ * and rejects when full, so a login burst cannot take every core.
+ */
+public class PasswordHasher {
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2-sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BYTES = 32;
+    private static final int MIN_ITERATIONS = 1_000;
+    private static final int ITERATIONS = Math.max(MIN_ITERATIONS, Integer.getInteger("auth.pbkdf2.iterations", 600_000));
+    // A stored hash above this is treated as corrupt rather than run, so a
+    // damaged or planted record cannot make a login derive for minutes
+    private static final int MAX_ITERATIONS = (int) Math.min(Integer.MAX_VALUE, 10L * ITERATIONS);
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    // Verified against when the user does not exist, so that answer takes
+    // as long as a wrong password. Computed with the class, not on the first
+    // missing user, whose lookup would otherwise take twice as long.
+    private static final String DUMMY_HASH = hash("unused-password");
+
+    public static String hash(String password) {
+        return hash(password, ITERATIONS);
+    }
+
+    public static String hash(String password, int iterations) {
+        if (iterations < MIN_ITERATIONS || iterations > MAX_ITERATIONS) {
+            throw new IllegalArgumentException("iterations must be between " + MIN_ITERATIONS + " and "
+                + MAX_ITERATIONS + " (10x auth.pbkdf2.iterations)");
+        }
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = derive(password, salt, iterations, HASH_BYTES);
+
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+    }
+
+    /**
+     * Checks the password against a stored hash, or against a legacy
+     * plain-text password. Comparison time does not depend on where the
+     * values differ.
+     */
+    public static boolean verify(String password, String stored) {
+        if (password == null || stored == null) {
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(
+                password.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int iterations = Integer.parseInt(parts[1]);
+            Base64.Decoder base64 = Base64.getDecoder();
+            byte[] salt = base64.decode(parts[2]);
+            byte[] expected = base64.decode(parts[3]);
+            // Outside what hash() produces: corrupt, and not worth deriving
+            if (iterations < MIN_ITERATIONS || iterations > MAX_ITERATIONS || expected.length != HASH_BYTES) {
+                return false;
+            }
+            return MessageDigest.isEqual(derive(password, salt, iterations, expected.length), expected);
+        } catch (IllegalArgumentException e) {
+            // Corrupt stored hash
+            return false;
+        }
+    }
+
+    /**
+     * Spends the same time as verifying a wrong password; always false
+     */
+    public static boolean verifyMissingUser(String password) {
+        verify(password == null ? "" : password, DUMMY_HASH);
+        return false;
+    }
+
+    public static boolean isHashed(String stored) {
+        return stored != null && stored.startsWith(PREFIX + "$");
+    }
+
+    /**
+     * True for plain-text passwords and hashes below the current work factor
+     */
+    public static boolean needsRehash(String stored) {
+        if (!isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) < ITERATIONS;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    public static int getIterations() {
+        return ITERATIONS;
+    }
+
+    /**
+     * Hashes on the hashing executor. Completes exceptionally with
+     * RejectedExecutionException when the executor is saturated.
+     */
+    public static CompletableFuture<String> hashAsync(String password) {
+        return supply(() -> hash(password), BackendExecutors.hashing());
+    }
+
+    /**
+     * Verifies on the hashing executor; a null stored value (no such user)
+     * takes as long as a wrong password
+     */
+    public static CompletableFuture<Boolean> verifyAsync(String password, String stored) {
+        return supply(() -> stored == null ? verifyMissingUser(password) : verify(password, stored),
+            BackendExecutors.hashing());
+    }
+
+    private static <T> CompletableFuture<T> supply(Supplier<T> work, Executor executor) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RuntimeException e) {
+            // ABORT rejection is thrown from execute(); report it through the future
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
+        }
+    }
+
+    private static byte[] derive(String password, byte[] salt, int iterations, int length) {
+        char[] chars = password.toCharArray();
+        PBEKeySpec spec = new PBEKeySpec(chars, salt, iterations, length * 8);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        } finally {
+            spec.clearPassword();
+            Arrays.fill(chars, '\0');
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,452 @@
+package backend;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers user registrations to MongoDB in the background
+ * Signup hands the user over and returns; a flusher thread sends queued
+ * registrations as one unordered insert per batch, once batchSize are
+ * waiting or lingerMillis after the first one arrived.
+ *
+ * Delivery is at-least-once. A batch that cannot be sent (MongoDB down,
+ * or the queue full) is appended to a spool file and forced to disk; the
+ * spool is resent, oldest first, before any new batch once MongoDB answers
+ * again. A spool left by an earlier run is picked up as soon as the queue
+ * is constructed, so owners should create it at startup rather than on
+ * first use. close() drains the queue, spooling what cannot be delivered
+ * in time. Registrations still in memory are lost if the process is killed
+ * outright; the local user store stays authoritative.
+ *
+ * The spool lock only covers reading and writing the file. A resend runs
+ * without it, so submit() can spool while the flusher waits on MongoDB.
+ *
+ * Spool lines are registeredAt|email|password|name.
+ */
+public class RegistrationQueue {
+
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final long MAX_RETRY_MILLIS = 60_000;
+    // Wakes the flusher for close(); never sent
+    private static final Registration WAKE_UP = new Registration(null, null);
+
+    private final MongoWireClient client;
+    private final MongoHealthMonitor health;
+    private final String database;
+    private final String collection;
+    private final Path spoolFile;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final long retryMillis;
+    private final ArrayBlockingQueue<Registration> queue;
+    private final Object spoolLock = new Object();
+    private final Thread flusher;
+    private volatile boolean closing;
+
+    // Flusher thread only
+    private long nextRetryNanos;
+    private long currentRetryMillis;
+    private boolean unavailable;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    /**
+     * health may be null; with a monitor, batches go straight to the spool
+     * while its circuit is open
+     */
+    public RegistrationQueue(MongoWireClient client, MongoHealthMonitor health, String database, String collection,
+                             Path spoolFile, int capacity, int batchSize, long lingerMillis, long retryMillis) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("capacity and batchSize must be at least 1");
+        }
+        this.client = client;
+        this.health = health;
+        this.database = database;
+        this.collection = collection;
+        this.spoolFile = spoolFile;
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.retryMillis = retryMillis;
+        this.currentRetryMillis = retryMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.nextRetryNanos = System.nanoTime();
+
+        flusher = new Thread(this::flushLoop, "mongo-registration-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Registration captured at signup time, so a late delivery keeps the
+     * original timestamp
+     */
+    private static class Registration {
+        final User user;
+        final String registeredAt;
+
+        Registration(User user, String registeredAt) {
+            this.user = user;
+            this.registeredAt = registeredAt;
+        }
+
+        Map<String, Object> toDocument() {
+            Map<String, Object> document = MongoDBService.registrationDocument(user);
+            document.put("registeredAt", registeredAt);
+            return document;
+        }
+    }
+
+    /**
+     * Queues the registration; never waits on MongoDB. If the queue is full
+     * it goes straight to the spool, which costs one fsync.
+     */
+    public void submit(User user) {
+        Registration registration = new Registration(user, LocalDateTime.now().format(TIMESTAMP));
+        submitted.incrementAndGet();
+        if (closing || !queue.offer(registration)) {
+            spool(Collections.singletonList(registration));
+        }
+    }
+
+    /**
+     * Stops the flusher after delivering what is queued, waiting at most
+     * timeoutMillis; anything left is spooled
+     */
+    public void close(long timeoutMillis) {
+        closing = true;
+        // Interrupting could close the spool channel mid-write, so wake the
+        // flusher through the queue instead; if the queue is full it is busy
+        queue.offer(WAKE_UP);
+        try {
+            flusher.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever the flusher did not get to
+        List<Registration> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.remove(WAKE_UP);
+        if (!remaining.isEmpty()) {
+            spool(remaining);
+        }
+    }
+
+    public int getPending() {
+        return queue.size();
+    }
+
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    public long getDelivered() {
+        return delivered.get();
+    }
+
+    public long getSpooled() {
+        return spooled.get();
+    }
+
+    public String getStats() {
+        return String.format("submitted=%d delivered=%d batches=%d spooled=%d rejected=%d pending=%d",
+            submitted.get(), delivered.get(), batches.get(), spooled.get(), rejected.get(), queue.size());
+    }
+
+    private void flushLoop() {
+        while (!closing) {
+            try {
+                List<Registration> batch = nextBatch();
+                if (!sendSpoolIfDue()) {
+                    if (!batch.isEmpty()) {
+                        spool(batch);
+                    }
+                } else if (!batch.isEmpty() && !send(batch)) {
+                    spool(batch);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("Registration flusher error: " + e.getMessage());
+            }
+        }
+
+        // Shutdown drain: one attempt, then the rest is spooled by close()
+        List<Registration> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            batch.remove(WAKE_UP);
+            if (batch.isEmpty()) {
+                continue;
+            }
+            if (!sendSpoolIfDue() || !send(batch)) {
+                spool(batch);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Waits for the first registration, then collects up to batchSize until
+     * the linger time has passed. Wakes up empty-handed when a spool retry
+     * is due.
+     */
+    private List<Registration> nextBatch() throws InterruptedException {
+        List<Registration> batch = new ArrayList<>();
+        long waitMillis = hasSpool() ? Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextRetryNanos - System.nanoTime())) : 1000;
+        Registration first = queue.poll(waitMillis, TimeUnit.MILLISECONDS);
+        if (first == null || first == WAKE_UP) {
+            return batch;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                break;
+            }
+            Registration next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        batch.remove(WAKE_UP);
+        return batch;
+    }
+
+    /**
+     * Inserts the batch; false if MongoDB could not be reached or failed the
+     * whole command, in which case the caller spools it. Documents refused
+     * with a write error other than a duplicate email are spooled here.
+     */
+    private boolean send(List<Registration> batch) {
+        if (health != null && !health.allowRequest()) {
+            markUnavailable("circuit " + health.getState());
+            return false;
+        }
+        List<Map<String, Object>> documents = new ArrayList<>(batch.size());
+        for (Registration registration : batch) {
+            documents.add(registration.toDocument());
+        }
+        List<Registration> refused = Collections.emptyList();
+        try {
+            client.insert(database, collection, documents, false);
+            delivered.addAndGet(batch.size());
+            recordOutcome(true);
+        } catch (MongoWireClient.CommandException e) {
+            recordOutcome(true);
+            if (e.getWriteErrors().isEmpty()) {
+                // The whole command failed (not primary, shutting down, ...);
+                // nothing was inserted
+                markUnavailable(e.getMessage());
+                return false;
+            }
+            // Unordered: every document without a write error was inserted.
+            // A duplicate email is already there, from a resend; anything
+            // else is spooled and retried with the usual backoff.
+            refused = new ArrayList<>();
+            for (Map.Entry<Integer, Integer> error : e.getWriteErrors().entrySet()) {
+                int index = error.getKey();
+                if (index >= 0 && index < batch.size() && !MongoWireClient.CommandException.isDuplicateKey(error.getValue())) {
+                    refused.add(batch.get(index));
+                }
+            }
+            delivered.addAndGet(batch.size() - refused.size());
+            if (!refused.isEmpty()) {
+                rejected.addAndGet(refused.size());
+                System.err.println("MongoDB refused " + refused.size() + " registration(s), will retry: " + e.getMessage());
+                spool(refused);
+            }
+        } catch (IOException e) {
+            recordOutcome(false);
+            markUnavailable(e.getMessage());
+            return false;
+        }
+        batches.incrementAndGet();
+        unavailable = false;
+        if (refused.isEmpty()) {
+            currentRetryMillis = retryMillis;
+        } else {
+            // Keeps a document MongoDB always refuses from being resent in a tight loop
+            backOff();
+        }
+        return true;
+    }
+
+    /**
+     * Resends the spool if there is one and a retry is due. Returns true
+     * when the spool is empty afterwards, i.e. new batches may go straight
+     * to MongoDB without overtaking older registrations.
+     */
+    private boolean sendSpoolIfDue() {
+        if (!hasSpool()) {
+            return true;
+        }
+        if (System.nanoTime() - nextRetryNanos < 0) {
+            return false;
+        }
+
+        long claimed;
+        List<Registration> spooledRegistrations;
+        synchronized (spoolLock) {
+            byte[] content = readSpool();
+            claimed = content.length;
+            spooledRegistrations = parseSpool(content);
+        }
+
+        for (int i = 0; i < spooledRegistrations.size(); i += batchSize) {
+            List<Registration> batch = spooledRegistrations.subList(i, Math.min(spooledRegistrations.size(), i + batchSize));
+            if (!send(batch)) {
+                // Keep what is left; batches already sent may be resent later
+                replaceClaimed(claimed, spooledRegistrations.subList(i, spooledRegistrations.size()));
+                return false;
+            }
+        }
+        boolean empty = replaceClaimed(claimed, Collections.<Registration>emptyList());
+        System.out.println("Resent " + spooledRegistrations.size() + " spooled registration(s) to MongoDB");
+        // Anything spooled during the resend goes out on the next pass, ahead of new batches
+        return empty;
+    }
+
+    private void recordOutcome(boolean reachable) {
+        if (health == null) {
+            return;
+        }
+        if (reachable) {
+            health.recordSuccess();
+        } else {
+            health.recordFailure();
+        }
+    }
+
+    private void markUnavailable(String reason) {
+        backOff();
+        if (!unavailable) {
+            unavailable = true;
+            System.out.println("MongoDB unavailable, spooling registrations - " + reason);
+        }
+    }
+
+    private void backOff() {
+        nextRetryNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(currentRetryMillis);
+        currentRetryMillis = Math.min(MAX_RETRY_MILLIS, currentRetryMillis * 2);
+    }
+
+    private boolean hasSpool() {
+        return Files.exists(spoolFile);
+    }
+
+    private void spool(List<Registration> registrations) {
+        String lines = toSpoolLines(registrations);
+
+        synchronized (spoolLock) {
+            try {
+                Path parent = spoolFile.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                try (FileChannel channel = FileChannel.open(spoolFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    writeFully(channel, lines);
+                    channel.force(false);
+                }
+                spooled.addAndGet(registrations.size());
+            } catch (IOException e) {
+                System.err.println("Error spooling registrations: " + e.getMessage());
+            }
+        }
+    }
+
+    private byte[] readSpool() {
+        try {
+            return Files.readAllBytes(spoolFile);
+        } catch (NoSuchFileException e) {
+            // Nothing spooled
+            return new byte[0];
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading registration spool", e);
+        }
+    }
+
+    private static List<Registration> parseSpool(byte[] content) {
+        List<Registration> registrations = new ArrayList<>();
+        for (String line : new String(content, StandardCharsets.UTF_8).split("\n")) {
+            int separator = line.indexOf('|');
+            // A torn last line from a crash parses as null and is skipped
+            User user = separator < 0 ? null : IndexedUserStore.parse(line.substring(separator + 1));
+            if (user != null) {
+                registrations.add(new Registration(user, line.substring(0, separator)));
+            }
+        }
+        return registrations;
+    }
+
+    /**
+     * Replaces the first claimed bytes of the spool, which a resend read,
+     * with the registrations still undelivered; lines spooled since stay
+     * after them. Only the flusher rewrites the spool and everyone else
+     * appends, so the claimed bytes are still at the start. Returns true
+     * if the spool is gone afterwards.
+     */
+    private boolean replaceClaimed(long claimed, List<Registration> unsent) {
+        synchronized (spoolLock) {
+            byte[] content = readSpool();
+            String lines = toSpoolLines(unsent)
+                + new String(content, (int) claimed, content.length - (int) claimed, StandardCharsets.UTF_8);
+            try {
+                if (lines.isEmpty()) {
+                    Files.deleteIfExists(spoolFile);
+                    return true;
+                }
+                writeSpool(lines);
+                return false;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error rewriting registration spool", e);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the spool atomically
+     */
+    private void writeSpool(String lines) throws IOException {
+        Path temp = spoolFile.resolveSibling(spoolFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, lines);
+            channel.force(false);
+        }
+        Files.move(temp, spoolFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String toSpoolLines(List<Registration> registrations) {
+        StringBuilder lines = new StringBuilder();
+        for (Registration registration : registrations) {
+            lines.append(registration.registeredAt).append('|').append(IndexedUserStore.format(registration.user)).append('\n');
+        }
+        return lines.toString();
+    }
+
+    private static void writeFully(FileChannel channel, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,158 @@
+package frontend;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the one search a view is currently showing
+ * Each search gets the next generation number. Starting a search supersedes
+ * the previous one: its future is cancelled, which aborts its HTTP exchange
+ * in GroqApiService, and any result it still delivers is recognised as stale
+ * by isCurrent() and dropped before it reaches the UI.
+ *
+ * Thread-safe; results are usually checked on the background thread and
+ * again on the UI thread just before they are shown.
+ */
+public class SearchSessionManager {
+
+    /**
+     * One search, identified by its generation
+     */
+    public final class Session {
+        private final long generation;
+        private final String query;
+        private final long startNanos;
+        private volatile CompletableFuture<?> future;
+        private volatile boolean finished;
+
+        private Session(long generation, String query) {
+            this.generation = generation;
+            this.query = query;
+            this.startNanos = System.nanoTime();
+        }
+
+        public long getGeneration() {
+            return generation;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        /**
+         * False once a newer search has started
+         */
+        public boolean isCurrent() {
+            return current == this;
+        }
+
+        /**
+         * Remembers the future to cancel if this search is superseded;
+         * cancels it at once if that already happened
+         */
+        public void attach(CompletableFuture<?> future) {
+            this.future = future;
+            if (!isCurrent()) {
+                future.cancel(true);
+            }
+        }
+
+        /**
+         * Records a delivered result; true if it is still current and should
+         * be shown, false if it is stale and was dropped
+         */
+        public boolean accept() {
+            if (isCurrent()) {
+                return true;
+            }
+            staleDropped.incrementAndGet();
+            return false;
+        }
+
+        /**
+         * Marks the search done, recording its latency if it is still current
+         */
+        public void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            if (isCurrent()) {
+                completed.incrementAndGet();
+                totalLatencyNanos.addAndGet(System.nanoTime() - startNanos);
+            }
+        }
+    }
+
+    private final AtomicLong generations = new AtomicLong();
+    private volatile Session current;
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong superseded = new AtomicLong();
+    private final AtomicLong staleDropped = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong wastedNanos = new AtomicLong();
+
+    /**
+     * Starts a search, superseding and cancelling the previous one
+     */
+    public Session begin(String query) {
+        Session session = new Session(generations.incrementAndGet(), query);
+        Session previous;
+        synchronized (this) {
+            previous = current;
+            current = session;
+        }
+        started.incrementAndGet();
+        if (previous != null) {
+            supersede(previous);
+        }
+        return session;
+    }
+
+    /**
+     * Cancels the current search without starting another, e.g. on logout
+     */
+    public void cancelCurrent() {
+        Session previous;
+        synchronized (this) {
+            previous = current;
+            current = null;
+        }
+        if (previous != null) {
+            supersede(previous);
+        }
+    }
+
+    private void supersede(Session session) {
+        if (session.finished) {
+            return;
+        }
+        session.finished = true;
+        superseded.incrementAndGet();
+        // Time the abandoned search spent before it was cut off
+        wastedNanos.addAndGet(System.nanoTime() - session.startNanos);
+        CompletableFuture<?> future = session.future;
+        if (future != null) {
+            future.cancel(true);
+        }
+    }
+
+    public long getStarted() { return started.get(); }
+    public long getSuperseded() { return superseded.get(); }
+    public long getStaleDropped() { return staleDropped.get(); }
+    public long getCompleted() { return completed.get(); }
+
+    public double getAverageLatencyMillis() {
+        long count = completed.get();
+        return count == 0 ? 0 : totalLatencyNanos.get() / 1e6 / count;
+    }
+
+    public String getStats() {
+        return String.format("SearchSessionManager{started=%d, completed=%d, superseded=%d, staleDropped=%d, " +
+                "avgLatencyMs=%.0f, wastedMs=%.0f}",
+            started.get(), completed.get(), superseded.get(), staleDropped.get(),
+            getAverageLatencyMillis(), wastedNanos.get() / 1e6);
+    }
+}
\ No newline at end of file
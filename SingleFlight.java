@@ -0,0 +1,102 @@
+package backend;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into one in-flight load
+ *
+ * The first caller for a key starts the load; callers arriving while it
+ * is still running share its result. Every caller gets its own dependent
+ * future, so cancelling or timing out one of them does not affect the
+ * others. The key is released as soon as the load completes, successfully
+ * or not, so a failure is never cached.
+ *
+ * Once every caller of a load has cancelled its future, nobody is left to
+ * use the result, so the load's own future is cancelled too and the key is
+ * released for the next caller.
+ */
+public class SingleFlight<K, V> {
+
+    private static class Flight<V> {
+        final CompletableFuture<V> shared = new CompletableFuture<>();
+        volatile CompletableFuture<V> load;
+        int waiters = 1;
+        boolean abandoned;
+    }
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong abandoned = new AtomicLong();
+
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> loader) {
+        while (true) {
+            Flight<V> flight = new Flight<>();
+            Flight<V> existing = inFlight.putIfAbsent(key, flight);
+            if (existing != null) {
+                synchronized (existing) {
+                    if (!existing.abandoned) {
+                        existing.waiters++;
+                        coalesced.incrementAndGet();
+                        return join(key, existing);
+                    }
+                }
+                // Being cancelled; start a fresh load instead
+                inFlight.remove(key, existing);
+                continue;
+            }
+
+            loads.incrementAndGet();
+            try {
+                CompletableFuture<V> load = loader.get();
+                flight.load = load;
+                load.whenComplete((value, error) -> {
+                    inFlight.remove(key, flight);
+                    if (error != null) {
+                        flight.shared.completeExceptionally(error);
+                    } else {
+                        flight.shared.complete(value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                inFlight.remove(key, flight);
+                flight.shared.completeExceptionally(e);
+            }
+            return join(key, flight);
+        }
+    }
+
+    private CompletableFuture<V> join(K key, Flight<V> flight) {
+        CompletableFuture<V> copy = flight.shared.copy();
+        copy.whenComplete((value, error) -> {
+            if (copy.isCancelled()) {
+                leave(key, flight);
+            }
+        });
+        return copy;
+    }
+
+    private void leave(K key, Flight<V> flight) {
+        synchronized (flight) {
+            flight.waiters--;
+            if (flight.waiters > 0 || flight.shared.isDone() || flight.abandoned) {
+                return;
+            }
+            flight.abandoned = true;
+        }
+        abandoned.incrementAndGet();
+        inFlight.remove(key, flight);
+        CompletableFuture<V> load = flight.load;
+        if (load != null) {
+            load.cancel(true);
+        }
+    }
+
+    public int getInFlightCount() { return inFlight.size(); }
+    public long getLoads() { return loads.get(); }
+    public long getCoalesced() { return coalesced.get(); }
+    public long getAbandoned() { return abandoned.get(); }
+}
\ No newline at end of file
@@ -0,0 +1,90 @@
+package frontend;
+
+import javax.swing.*;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Runs a list of EDT steps in slices that each fit a time budget
+ * After each step the slice checks the clock; once the budget is spent the
+ * rest is posted back to the EDT queue, so input and paint events in
+ * between are handled within a frame.
+ *
+ * Budget is ui.attach.sliceMs (default 8). Must be started on the EDT.
+ */
+public class TimeSlicedTask {
+
+    private static final long SLICE_NANOS = Math.max(1, Integer.getInteger("ui.attach.sliceMs", 8)) * 1_000_000L;
+
+    // Across all tasks, EDT only
+    private static long totalSlices;
+    private static long maxSliceNanos;
+
+    private final Deque<Runnable> steps;
+    private final Runnable onDone;
+    private boolean cancelled;
+    private int slices;
+
+    private TimeSlicedTask(List<Runnable> steps, Runnable onDone) {
+        this.steps = new ArrayDeque<>(steps);
+        this.onDone = onDone;
+    }
+
+    /**
+     * Runs the first slice now and schedules the rest; onDone (may be null)
+     * runs after the last step unless cancelled
+     */
+    public static TimeSlicedTask start(List<Runnable> steps, Runnable onDone) {
+        TimeSlicedTask task = new TimeSlicedTask(steps, onDone);
+        task.runSlice();
+        return task;
+    }
+
+    public void cancel() {
+        cancelled = true;
+        steps.clear();
+    }
+
+    public boolean isDone() {
+        return cancelled || steps.isEmpty();
+    }
+
+    public int getSlices() {
+        return slices;
+    }
+
+    private void runSlice() {
+        if (cancelled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long elapsed = 0;
+        while (!steps.isEmpty() && elapsed < SLICE_NANOS) {
+            steps.poll().run();
+            elapsed = System.nanoTime() - start;
+            if (cancelled) {
+                break;
+            }
+        }
+        slices++;
+        totalSlices++;
+        maxSliceNanos = Math.max(maxSliceNanos, elapsed);
+
+        if (cancelled) {
+            return;
+        }
+        if (steps.isEmpty()) {
+            if (onDone != null) {
+                onDone.run();
+            }
+        } else {
+            SwingUtilities.invokeLater(this::runSlice);
+        }
+    }
+
+    public static String getStats() {
+        return String.format("TimeSlicedTask{slices=%d, maxSliceMs=%.2f, budgetMs=%d}",
+            totalSlices, maxSliceNanos / 1e6, SLICE_NANOS / 1_000_000);
+    }
+}
\ No newline at end of file
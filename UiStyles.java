@@ -0,0 +1,34 @@
+package frontend;
+
+import java.awt.*;
+
+/**
+ * Shared fonts and colours for the Swing result views
+ * Font and Color are immutable, so one instance serves every label and can
+ * be used off the EDT when measuring text for a view model.
+ */
+public final class UiStyles {
+
+    public static final Color BACKGROUND = new Color(248, 250, 252);
+    public static final Color HERO_BACKGROUND = new Color(59, 130, 246);
+    public static final Color HERO_TEXT = new Color(240, 240, 240);
+    public static final Color HERO_MUTED_TEXT = new Color(230, 230, 230);
+    public static final Color CARD_TITLE = new Color(30, 41, 59);
+    public static final Color CARD_ITEM = new Color(55, 65, 81);
+    public static final Color CARD_MORE = new Color(107, 114, 128);
+    public static final Color CARD_TEXT = new Color(100, 116, 139);
+    public static final Color CARD_BORDER = new Color(226, 232, 240);
+
+    public static final Font HERO_TITLE_FONT = new Font("Arial", Font.BOLD, 32);
+    public static final Font HERO_LOCATION_FONT = new Font("Arial", Font.PLAIN, 18);
+    public static final Font HERO_BEST_TIME_FONT = new Font("Arial", Font.BOLD, 14);
+    public static final Font HERO_DESCRIPTION_FONT = new Font("Arial", Font.PLAIN, 16);
+    public static final Font INFO_CARD_TITLE_FONT = new Font("Segoe UI", Font.BOLD, 20);
+    public static final Font INFO_CARD_ITEM_FONT = new Font("Segoe UI", Font.PLAIN, 14);
+    public static final Font INFO_CARD_MORE_FONT = new Font("Segoe UI", Font.ITALIC, 12);
+    public static final Font TEXT_CARD_TITLE_FONT = new Font("Arial", Font.BOLD, 18);
+    public static final Font TEXT_CARD_BODY_FONT = new Font("Arial", Font.PLAIN, 14);
+
+    private UiStyles() {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+package backend;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small read-through cache for user lookups by email
+ * A bounded LRU with a TTL, so a login does not need a MongoDB round trip
+ * every time and a record changed elsewhere is picked up within the TTL.
+ *
+ * Only found users are cached: a miss may be a registration still on its
+ * way through RegistrationQueue.
+ */
+public class UserLookupCache {
+
+    private static class Entry {
+        final User user;
+        final long cachedAt;
+
+        Entry(User user, long cachedAt) {
+            this.user = user;
+            this.cachedAt = cachedAt;
+        }
+    }
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public UserLookupCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > UserLookupCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached user, or null on a miss or an expired entry
+     */
+    public User get(String email) {
+        synchronized (entries) {
+            Entry entry = entries.get(email);
+            if (entry == null) {
+                misses.incrementAndGet();
+                return null;
+            }
+            if (System.currentTimeMillis() - entry.cachedAt > ttlMillis) {
+                entries.remove(email);
+                expired.incrementAndGet();
+                misses.incrementAndGet();
+                return null;
+            }
+            hits.incrementAndGet();
+            return entry.user;
+        }
+    }
+
+    public void put(User user) {
+        Entry entry = new Entry(user, System.currentTimeMillis());
+        synchronized (entries) {
+            entries.put(user.getEmail(), entry);
+        }
+    }
+
+    public void invalidate(String email) {
+        synchronized (entries) {
+            entries.remove(email);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public String getStats() {
+        return "UserLookupCache{size=" + size() + "/" + maxEntries +
+                ", hits=" + hits.get() +
+                ", misses=" + misses.get() +
+                ", expired=" + expired.get() +
+                ", evictions=" + evictions.get() +
+                '}';
+    }
+}
\ No newline at end of file
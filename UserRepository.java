@@ -0,0 +1,46 @@
+package backend;
+
+import java.util.List;
+
+/**
+ * Storage for registered users, keyed by email
+ * DataStorage picks the implementation; see DataStorage for the options
+ */
+public interface UserRepository {
+
+    /**
+     * Returns the user with exactly this email, or null
+     */
+    User findByEmail(String email);
+
+    /**
+     * Adds the user unless one with the same email already exists.
+     * Returns false, without writing anything, if the email is taken.
+     */
+    boolean add(User user);
+
+    /**
+     * Adds every user whose email is not taken yet, in one batch where the
+     * backend supports it. Returns the number added.
+     */
+    int addAll(List<User> users);
+
+    /**
+     * Adds or replaces the user's record
+     */
+    void put(User user);
+
+    /**
+     * Replaces the whole store with the given users
+     */
+    void replaceAll(List<User> users);
+
+    List<User> getAll();
+
+    int size();
+
+    /**
+     * Flushes pending writes and releases files and threads
+     */
+    void close();
+}
\ No newline at end of file
@@ -0,0 +1,174 @@
+package backend;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Checks that each UserRepository backend honours the interface contract,
+ * then compares their speed on the same workload
+ *
+ * Usage: UserRepositoryBenchmark [userCount] [backend...]
+ * Backends: memory, text, wal, mmap, mongo (default all but mongo)
+ */
+public class UserRepositoryBenchmark {
+
+    private static final int BATCH_SIZE = 1_000;
+    private static final int SINGLE_ADDS = 1_000;
+    private static final int LOOKUPS = 100_000;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== UserRepository Benchmark ===");
+
+        int userCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        List<String> backends = args.length > 1
+            ? Arrays.asList(args).subList(1, args.length)
+            : Arrays.asList("memory", "text", "wal", "mmap");
+
+        for (String backend : backends) {
+            Path dir = Files.createTempDirectory("userrepo-bench");
+            Supplier<UserRepository> factory = factoryFor(backend, dir);
+            if (factory == null) {
+                System.err.println("Unknown backend: " + backend);
+                continue;
+            }
+
+            System.out.println("\n--- " + backend + " ---");
+            checkContract(factory);
+
+            UserRepository repository = factory.get();
+            repository.replaceAll(Collections.<User>emptyList());
+            runBenchmark(repository, backend.equals("mongo") ? Math.min(userCount, 10_000) : userCount);
+            repository.close();
+            deleteRecursively(dir);
+        }
+
+        System.out.println("\n=== Benchmark Complete ===");
+    }
+
+    private static Supplier<UserRepository> factoryFor(String backend, Path dir) {
+        switch (backend) {
+            case "memory":
+                return InMemoryUserRepository::new;
+            case "text":
+                return () -> new IndexedUserStore(dir.resolve("users.txt"));
+            case "wal":
+                return () -> new WalUserStore(dir.resolve("userdb"), null, WalUserStore.SyncPolicy.GROUP, 2, 4L * 1024 * 1024);
+            case "mmap":
+                return () -> new MappedUserStore(dir.resolve("users.db"), null);
+            case "mongo":
+                return MongoUserRepository::new;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Exercises the behaviour every backend must share; throws on the
+     * first violation
+     */
+    private static void checkContract(Supplier<UserRepository> factory) {
+        UserRepository repository = factory.get();
+        repository.replaceAll(Collections.<User>emptyList());
+        check(repository.size() == 0, "empty after replaceAll");
+        check(repository.findByEmail("missing@example.com") == null, "missing email returns null");
+
+        check(repository.add(new User("a@example.com", "secret1", "A")), "add new user");
+        check(!repository.add(new User("a@example.com", "other", "Other")), "add rejects taken email");
+        check("secret1".equals(repository.findByEmail("a@example.com").getPassword()), "rejected add leaves record alone");
+
+        int added = repository.addAll(Arrays.asList(
+            new User("a@example.com", "x", "X"),
+            new User("b@example.com", "secret2", "B"),
+            new User("c@example.com", "secret3", "C"),
+            new User("b@example.com", "dup", "Dup")));
+        check(added == 2, "addAll skips taken and repeated emails");
+        check(repository.size() == 3, "size counts each email once");
+
+        repository.put(new User("b@example.com", "changed", "B2"));
+        check("changed".equals(repository.findByEmail("b@example.com").getPassword()), "put replaces");
+        check(repository.size() == 3, "put of existing email keeps size");
+        check(repository.getAll().size() == 3, "getAll returns every user");
+
+        // Persistent backends must see the same data after reopening
+        repository.close();
+        if (!(repository instanceof InMemoryUserRepository)) {
+            UserRepository reopened = factory.get();
+            check(reopened.size() == 3, "size survives reopen");
+            check("changed".equals(reopened.findByEmail("b@example.com").getPassword()), "put survives reopen");
+            reopened.close();
+        }
+
+        System.out.println("Contract checks passed");
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            throw new IllegalStateException("Contract violated: " + description);
+        }
+    }
+
+    private static void runBenchmark(UserRepository repository, int userCount) {
+        long start = System.nanoTime();
+        for (int i = 0; i < userCount; i += BATCH_SIZE) {
+            List<User> batch = new ArrayList<>(BATCH_SIZE);
+            for (int j = i; j < Math.min(userCount, i + BATCH_SIZE); j++) {
+                batch.add(new User(emailFor(j), "password" + j, "User " + j));
+            }
+            repository.addAll(batch);
+        }
+        System.out.printf("Batch insert:   %10.2f us/user (%d users)%n", micros(start) / userCount, userCount);
+
+        int singles = Math.min(SINGLE_ADDS, userCount);
+        start = System.nanoTime();
+        for (int i = 0; i < singles; i++) {
+            repository.add(new User(emailFor(userCount + i), "password", "User"));
+        }
+        System.out.printf("Single insert:  %10.2f us/user%n", micros(start) / singles);
+
+        Random random = new Random(42);
+        int lookups = repository instanceof MongoUserRepository ? 100 : LOOKUPS;
+        int found = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            if (repository.findByEmail(emailFor(random.nextInt(userCount))) != null) {
+                found++;
+            }
+        }
+        System.out.printf("Lookup:         %10.3f us/op (%d/%d found)%n", micros(start) / lookups, found, lookups);
+
+        start = System.nanoTime();
+        int count = repository.size();
+        System.out.printf("Count:          %10.1f us (%d users)%n", micros(start), count);
+
+        start = System.nanoTime();
+        int iterated = repository.getAll().size();
+        System.out.printf("Iterate all:    %10.1f ms (%d users)%n", micros(start) / 1000, iterated);
+    }
+
+    private static String emailFor(int i) {
+        return "user" + i + "@example.com";
+    }
+
+    private static double micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000.0;
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                paths.add(file);
+            }
+        }
+        for (Path path : paths) {
+            if (Files.isDirectory(path)) {
+                deleteRecursively(path);
+            } else {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+}
\ No newline at end of file
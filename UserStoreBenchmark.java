@@ -0,0 +1,140 @@
+package backend;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Benchmark comparing the indexed and memory-mapped user stores with the
+ * old full-file scan
+ * Run with an optional list of user counts, e.g. 10000 100000 1000000
+ */
+public class UserStoreBenchmark {
+
+    private static final int LOOKUPS = 100_000;
+    private static final int APPENDS = 1_000;
+    // The old scan is O(N) per call, so fewer iterations keep large runs short
+    private static final int SCAN_LOOKUPS = 20;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("=== User Store Benchmark ===");
+
+        int[] sizes = {10_000, 100_000, 1_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int size : sizes) {
+            runBenchmark(size);
+        }
+
+        System.out.println("\n=== Benchmark Complete ===");
+    }
+
+    private static void runBenchmark(int userCount) throws IOException {
+        System.out.println("\n--- " + userCount + " users ---");
+
+        Path dir = Files.createTempDirectory("userstore-bench");
+        Path file = dir.resolve("users.txt");
+        writeUsers(file, userCount);
+        Random random = new Random(42);
+
+        // Old approach: read and split the whole file, then scan it
+        long start = System.nanoTime();
+        int found = 0;
+        for (int i = 0; i < SCAN_LOOKUPS; i++) {
+            String email = emailFor(random.nextInt(userCount));
+            for (String line : Files.readAllLines(file)) {
+                String[] parts = line.split("\\|");
+                if (parts.length == 3 && parts[0].equals(email)) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        double scanMicros = micros(start) / SCAN_LOOKUPS;
+        System.out.printf("Full-file scan lookup:   %12.1f us/op (%d found)%n", scanMicros, found);
+
+        // Indexed store: one load, then in-memory lookups
+        IndexedUserStore store = new IndexedUserStore(file);
+        start = System.nanoTime();
+        store.size();
+        System.out.printf("Index load:              %12.1f ms%n", micros(start) / 1000);
+
+        start = System.nanoTime();
+        found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (store.findByEmail(emailFor(random.nextInt(userCount))) != null) {
+                found++;
+            }
+        }
+        double indexMicros = micros(start) / LOOKUPS;
+        System.out.printf("Indexed lookup:          %12.3f us/op (%d found)%n", indexMicros, found);
+
+        start = System.nanoTime();
+        for (int i = 0; i < APPENDS; i++) {
+            store.add(new User(emailFor(userCount + i), "password" + i, "User " + i));
+        }
+        System.out.printf("Indexed append:          %12.1f us/op%n", micros(start) / APPENDS);
+        System.out.printf("Lookup speed-up:         %12.0fx%n", scanMicros / indexMicros);
+
+        // Memory-mapped store: imported once, then lookups probe the on-disk table
+        Path dbFile = dir.resolve("users.db");
+        MappedUserStore mapped = new MappedUserStore(dbFile, file);
+        start = System.nanoTime();
+        mapped.size();
+        System.out.printf("Mapped import:           %12.1f ms%n", micros(start) / 1000);
+        mapped.close();
+
+        // Reopening only maps the file; nothing is parsed up front
+        mapped = new MappedUserStore(dbFile, file);
+        start = System.nanoTime();
+        mapped.size();
+        System.out.printf("Mapped open:             %12.1f ms%n", micros(start) / 1000);
+
+        start = System.nanoTime();
+        found = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (mapped.findByEmail(emailFor(random.nextInt(userCount))) != null) {
+                found++;
+            }
+        }
+        System.out.printf("Mapped lookup:           %12.3f us/op (%d found)%n", micros(start) / LOOKUPS, found);
+
+        start = System.nanoTime();
+        for (int i = 0; i < APPENDS; i++) {
+            mapped.add(new User(emailFor(userCount + APPENDS + i), "password" + i, "User " + i));
+        }
+        System.out.printf("Mapped append:           %12.1f us/op%n", micros(start) / APPENDS);
+        mapped.close();
+
+        // The mapped store may have moved on to users.db.N
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path path : files) {
+                Files.delete(path);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private static void writeUsers(Path file, int userCount) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < userCount; i++) {
+                writer.write(IndexedUserStore.format(new User(emailFor(i), "password" + i, "User " + i)));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String emailFor(int i) {
+        return "user" + i + "@example.com";
+    }
+
+    private static double micros(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package backend;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress check for concurrent signups through AuthService
+ * Many threads sign up overlapping emails at once; afterwards every email
+ * must be registered exactly once, with the winning signup's data, and
+ * persistent stores must show the same after reopening.
+ *
+ * Usage: VerifyConcurrentSignup [threads] [emails] [attemptsPerEmail]
+ * Uses a low PBKDF2 work factor and keeps MongoDB out of the way unless
+ * those properties are set on the command line.
+ */
+public class VerifyConcurrentSignup {
+
+    public static void main(String[] args) throws Exception {
+        // Must be set before PasswordHasher and MongoDBService load
+        Path dir = Files.createTempDirectory("signup-stress");
+        setDefault("auth.pbkdf2.iterations", "1000");
+        setDefault("mongodb.port", "1");
+        setDefault("mongodb.spool", dir.resolve("mongo-spool.txt").toString());
+        setDefault("backend.hashing.maxQueued", "100000");
+
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int emails = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int attempts = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        System.out.println("=== Concurrent Signup Verification ===");
+        System.out.println(threads + " threads, " + emails + " emails, " + attempts + " signups per email");
+
+        boolean passed = true;
+        passed &= verify("memory", InMemoryUserRepository::new, threads, emails, attempts);
+        passed &= verify("text", () -> new IndexedUserStore(dir.resolve("users.txt")), threads, emails, attempts);
+        passed &= verify("wal", () -> new WalUserStore(dir.resolve("userdb"), null, WalUserStore.SyncPolicy.GROUP, 2, 4L * 1024 * 1024),
+            threads, emails, attempts);
+        passed &= verify("mmap", () -> new MappedUserStore(dir.resolve("users.db"), null), threads, emails, attempts);
+
+        System.out.println(passed ? "\nAll checks passed" : "\nFAILED");
+        System.out.println("\n=== Verification Complete ===");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean verify(String backend, Callable<UserRepository> factory,
+                                  int threads, int emails, int attempts) throws Exception {
+        System.out.println("\n--- " + backend + " ---");
+        UserRepository repository = factory.call();
+        AuthService authService = new AuthService(repository);
+
+        // Each email is attempted several times with different names; the
+        // one whose signup succeeded must be the one stored
+        List<String[]> work = new ArrayList<>();
+        for (int i = 0; i < emails; i++) {
+            for (int a = 0; a < attempts; a++) {
+                work.add(new String[] {"stress" + i + "@example.com", "password" + i, "Attempt " + a});
+            }
+        }
+        Collections.shuffle(work, new Random(42));
+
+        ConcurrentHashMap<String, String> winners = new ConcurrentHashMap<>();
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger doubleWins = new AtomicInteger();
+        AtomicInteger unexpected = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        long startNanos = System.nanoTime();
+        for (String[] signup : work) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    authService.signup(signup[0], signup[1], signup[2]);
+                    succeeded.incrementAndGet();
+                    if (winners.putIfAbsent(signup[0], signup[2]) != null) {
+                        doubleWins.incrementAndGet();
+                    }
+                } catch (AuthException e) {
+                    if (!e.getMessage().contains("already")) {
+                        unexpected.incrementAndGet();
+                        System.err.println("Unexpected failure: " + e.getMessage());
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        // An email can only be missing if every attempt failed
+        int missing = 0;
+        for (int i = 0; i < emails; i++) {
+            if (!winners.containsKey("stress" + i + "@example.com")) {
+                missing++;
+            }
+        }
+
+        boolean ok = true;
+        ok &= check(doubleWins.get() == 0, "no email registered twice (" + doubleWins.get() + " double wins)");
+        ok &= check(unexpected.get() == 0, "no unexpected failures");
+        ok &= check(succeeded.get() == emails && missing == 0,
+            "every email registered once (" + succeeded.get() + " of " + emails + ")");
+        ok &= check(repository.size() == emails, "store holds each email once (size " + repository.size() + ")");
+        ok &= check(storedMatchesWinners(repository, winners), "stored user is the winning signup");
+        ok &= check(distinctEmails(repository.getAll()) == repository.getAll().size(), "getAll has no duplicates");
+        ok &= check(authService.login("stress0@example.com", "password0"), "winner can log in");
+
+        repository.close();
+        if (!backend.equals("memory")) {
+            UserRepository reopened = factory.call();
+            ok &= check(reopened.size() == emails, "size survives reopen (" + reopened.size() + ")");
+            ok &= check(storedMatchesWinners(reopened, winners), "winners survive reopen");
+            reopened.close();
+        }
+
+        System.out.printf("%d signups in %.2f s (%.0f/s)%n", work.size(), seconds, work.size() / seconds);
+        return ok;
+    }
+
+    private static boolean storedMatchesWinners(UserRepository repository, Map<String, String> winners) {
+        for (Map.Entry<String, String> winner : winners.entrySet()) {
+            User stored = repository.findByEmail(winner.getKey());
+            if (stored == null || !stored.getName().equals(winner.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int distinctEmails(List<User> users) {
+        Set<String> emails = new HashSet<>();
+        for (User user : users) {
+            emails.add(user.getEmail());
+        }
+        return emails.size();
+    }
+
+    private static boolean check(boolean condition, String description) {
+        System.out.println((condition ? "  ok   " : "  FAIL ") + description);
+        return condition;
+    }
+
+    private static void setDefault(String property, String value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, value);
+        }
+    }
+}
\ No newline at end of file
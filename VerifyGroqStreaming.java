@@ -0,0 +1,216 @@
+package backend;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Checks getCityInformationStreaming against a local SSE stub server
+ * The stub answers like Groq's streaming endpoint, but writes the event
+ * stream in small pieces cut at arbitrary byte positions, so events are
+ * split mid-line and a multi-byte UTF-8 character is split across writes.
+ * It holds back the second half of the stream until the client has shown
+ * a partial result, which proves results are rendered as they arrive.
+ *
+ * Afterwards the final CityData must match what was sent, and the partial
+ * updates must add exactly one top-level field each, in document order.
+ *
+ * Usage: VerifyGroqStreaming [pieceBytes]
+ */
+public class VerifyGroqStreaming {
+
+    // Top-level fields in the order CityDataBinder.toJson writes them
+    private static final List<Function<CityData, Object>> FIELDS = Arrays.asList(
+        CityData::getCity, CityData::getState, CityData::getCountry, CityData::getDescription,
+        CityData::getBestTimeToVisit, CityData::getWeather, CityData::getTouristSpots, CityData::getFamousFood,
+        CityData::getRestaurants, CityData::getStreetFood, CityData::getAttractions, CityData::getThemeParks,
+        CityData::getFestivals, CityData::getHotels, CityData::getShoppingMarkets, CityData::getNightlife,
+        CityData::getLocalTips, CityData::getLanguagesSpoken, CityData::getTransportation,
+        CityData::getEmergencyContacts);
+
+    public static void main(String[] args) throws Exception {
+        int pieceBytes = args.length > 0 ? Integer.parseInt(args[0]) : 37;
+
+        CityData expected = sampleCity();
+        byte[] stream = sseStream(CityDataBinder.toJson(expected));
+        List<Integer> cuts = cutPoints(stream, pieceBytes);
+
+        CountDownLatch firstUpdate = new CountDownLatch(1);
+        AtomicBoolean progressive = new AtomicBoolean();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/chat", exchange -> {
+            try (InputStream request = exchange.getRequestBody()) {
+                request.readAllBytes();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                int from = 0;
+                for (int i = 0; i < cuts.size(); i++) {
+                    int to = cuts.get(i);
+                    body.write(stream, from, to - from);
+                    body.flush();
+                    from = to;
+                    if (i == cuts.size() / 2) {
+                        // Hold the rest back until the client has rendered something
+                        progressive.set(firstUpdate.await(10, TimeUnit.SECONDS));
+                    } else {
+                        Thread.sleep(1);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+
+        // Must be set before GroqApiService loads
+        System.setProperty("groq.api.url", "http://127.0.0.1:" + server.getAddress().getPort() + "/chat");
+        System.setProperty("groq.api.key", "stub");
+        System.setProperty("groq.cache.dir", Files.createTempDirectory("groq-stream-cache").toString());
+
+        System.out.println("=== Groq Streaming Verification ===");
+        System.out.println(stream.length + " bytes in " + cuts.size() + " pieces of about " + pieceBytes + " bytes");
+
+        boolean passed = true;
+        try {
+            List<CityData> updates = new CopyOnWriteArrayList<>();
+            CityData result = GroqApiService.getCityInformationStreaming(expected.getCity(), partial -> {
+                updates.add(partial);
+                firstUpdate.countDown();
+            }).get(30, TimeUnit.SECONDS);
+
+            passed &= check("final result matches what was sent",
+                CityDataBinder.toJson(expected).equals(CityDataBinder.toJson(result)));
+            passed &= check("multi-byte characters survived the split",
+                expected.getCity().equals(result.getCity()) && expected.getDescription().equals(result.getDescription()));
+            passed &= check("partial result arrived while the stream was still open", progressive.get());
+            passed &= check("one update per top-level field (" + updates.size() + " of " + FIELDS.size() + ")",
+                updates.size() == FIELDS.size());
+            passed &= check("each update adds the next field in document order", inDocumentOrder(updates));
+            passed &= check("limiter released its permit", GroqApiService.getLimiter().getInFlight() == 0);
+        } finally {
+            server.stop(0);
+        }
+
+        System.out.println(passed ? "\nAll checks passed" : "\nFAILED");
+        System.out.println("\n=== Verification Complete ===");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean check(String name, boolean ok) {
+        System.out.println((ok ? "PASS  " : "FAIL  ") + name);
+        return ok;
+    }
+
+    private static boolean inDocumentOrder(List<CityData> updates) {
+        for (int u = 0; u < updates.size(); u++) {
+            for (int f = 0; f < FIELDS.size(); f++) {
+                boolean set = FIELDS.get(f).apply(updates.get(u)) != null;
+                if (set != (f <= u)) {
+                    System.out.println("      update " + (u + 1) + " has field " + (f + 1) + (set ? " set" : " missing"));
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cuts roughly every pieceBytes, plus one cut inside the first
+     * multi-byte UTF-8 sequence and one inside a "data:" line
+     */
+    private static List<Integer> cutPoints(byte[] stream, int pieceBytes) {
+        TreeSet<Integer> cuts = new TreeSet<>();
+        for (int i = pieceBytes; i < stream.length; i += pieceBytes) {
+            cuts.add(i);
+        }
+        for (int i = 0; i < stream.length; i++) {
+            if ((stream[i] & 0xC0) == 0xC0) {
+                cuts.add(i + 1);
+                break;
+            }
+        }
+        String text = new String(stream, StandardCharsets.ISO_8859_1);
+        cuts.add(text.indexOf("\"delta\"", text.indexOf("data:", 200)));
+        cuts.add(stream.length);
+        return new ArrayList<>(cuts);
+    }
+
+    /**
+     * The SSE body Groq sends for a streamed completion of content, cut
+     * into deltas of a few characters
+     */
+    private static byte[] sseStream(String json) {
+        String content = "```json\n" + json + "\n```";
+        StringBuilder sse = new StringBuilder();
+        sse.append(": keep-alive\n\n");
+        sse.append("data: {\"id\":\"chatcmpl-stub\",\"choices\":[{\"index\":0,\"delta\":{\"role\":\"assistant\",\"content\":\"\"}}]}\n\n");
+        for (int i = 0; i < content.length(); ) {
+            int end = Math.min(content.length(), i + 7);
+            if (Character.isHighSurrogate(content.charAt(end - 1))) {
+                end++; // a delta never splits a code point
+            }
+            String delta = content.substring(i, end);
+            sse.append("data: {\"id\":\"chatcmpl-stub\",\"choices\":[{\"index\":0,\"delta\":{\"content\":\"")
+                .append(escape(delta)).append("\"},\"finish_reason\":null}]}\n\n");
+            i = end;
+        }
+        sse.append("data: {\"id\":\"chatcmpl-stub\",\"choices\":[{\"index\":0,\"delta\":{},\"finish_reason\":\"stop\"}]}\n\n");
+        sse.append("data: [DONE]\n\n");
+        return sse.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escape(String value) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                default: sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static CityData sampleCity() {
+        CityData cityData = new CityData();
+        cityData.setCity("Z\u00fcrich " + System.nanoTime());
+        cityData.setState("Kanton Z\u00fcrich");
+        cityData.setCountry("Schweiz");
+        cityData.setDescription("Banking hub on the Limmat \u2014 old town lanes, lakeside promenades and Grossm\u00fcnster \ud83c\udfd4");
+        cityData.setBestTimeToVisit("June to September");
+        cityData.setWeather("Temperate, 0\u201325 \u00b0C");
+        cityData.setTouristSpots(Arrays.asList("Grossm\u00fcnster", "Fraum\u00fcnster", "Bahnhofstrasse"));
+        cityData.setFamousFood(Arrays.asList("Z\u00fcrcher Geschnetzeltes", "R\u00f6sti"));
+        cityData.setRestaurants(Arrays.asList("Zeughauskeller", "Kronenhalle"));
+        cityData.setStreetFood(Arrays.asList("Bratwurst", "Raclette"));
+        cityData.setAttractions(Arrays.asList("Lake Z\u00fcrich", "Uetliberg"));
+        cityData.setThemeParks(Arrays.asList("Zoo Z\u00fcrich"));
+        cityData.setFestivals(Arrays.asList("Sechsel\u00e4uten", "Street Parade"));
+        cityData.setHotels(Arrays.asList("Baur au Lac", "The Dolder Grand"));
+        cityData.setShoppingMarkets(Arrays.asList("B\u00fcrkliplatz flea market"));
+        cityData.setNightlife(Arrays.asList("Langstrasse", "Z\u00fcrich West"));
+        cityData.setLocalTips(Arrays.asList("Buy a ZVV day pass", "Tap water is drinkable from fountains"));
+        cityData.setLanguagesSpoken(Arrays.asList("German", "Swiss German", "English"));
+        CityData.Transportation transportation = new CityData.Transportation();
+        transportation.setLocal(Arrays.asList("Tram", "S-Bahn", "Lake ferry"));
+        transportation.setAirport("Z\u00fcrich Airport (ZRH)");
+        cityData.setTransportation(transportation);
+        CityData.EmergencyContacts emergency = new CityData.EmergencyContacts();
+        emergency.setPolice("117");
+        emergency.setAmbulance("144");
+        emergency.setFire("118");
+        cityData.setEmergencyContacts(emergency);
+        return cityData;
+    }
+}
\ No newline at end of file
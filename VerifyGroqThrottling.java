@@ -0,0 +1,281 @@
+package backend;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks GroqApiService's limiter and retries against a throttling stub
+ * A local HTTP server stands in for Groq. It answers normally, with 429
+ * plus retry-after, with exhausted x-ratelimit headers, or with 503,
+ * depending on the phase, and records when each request arrived and how
+ * many were in flight at once.
+ *
+ * Phases:
+ *   steady load     - in-flight requests stay within groq.limiter.max and the limit grows
+ *   429 retry-after - nothing is sent during the pause, then every lookup succeeds on retry
+ *   ratelimit reset - an exhausted request budget pauses dispatch until the reset
+ *   503 forever     - a lookup gives up after groq.max.retries retries
+ *
+ * Usage: VerifyGroqThrottling [lookups]
+ */
+public class VerifyGroqThrottling {
+
+    private static final int LIMITER_MAX = 8;
+    private static final int MAX_RETRIES = 3;
+    private static final long RETRY_AFTER_MILLIS = 1000;
+    private static final long RESET_MILLIS = 800;
+
+    private enum Mode { OK, THROTTLE, RESET_ONCE, UNAVAILABLE }
+
+    private static volatile Mode mode = Mode.OK;
+    private static volatile long throttleUntilNanos;
+    private static volatile long firstThrottleNanos;
+    private static final List<Long> arrivals = Collections.synchronizedList(new ArrayList<>());
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger maxInFlight = new AtomicInteger();
+
+    public static void main(String[] args) throws Exception {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+
+        HttpServer server = startStub();
+        // Must be set before GroqApiService loads
+        System.setProperty("groq.api.url", "http://127.0.0.1:" + server.getAddress().getPort() + "/chat");
+        System.setProperty("groq.api.key", "stub");
+        System.setProperty("groq.cache.dir", Files.createTempDirectory("groq-throttle-cache").toString());
+        System.setProperty("groq.limiter.initial", "4");
+        System.setProperty("groq.limiter.max", String.valueOf(LIMITER_MAX));
+        System.setProperty("groq.limiter.maxQueued", String.valueOf(lookups * 2));
+        System.setProperty("groq.max.retries", String.valueOf(MAX_RETRIES));
+
+        System.out.println("=== Groq Throttling Verification ===");
+        boolean passed = true;
+        try {
+            passed &= steadyLoad(lookups);
+            passed &= retryAfter(lookups / 4);
+            passed &= rateLimitReset();
+            passed &= unavailable();
+        } finally {
+            server.stop(0);
+        }
+
+        System.out.println("\n" + GroqApiService.getLimiter().getStats());
+        System.out.println(passed ? "\nAll checks passed" : "\nFAILED");
+        System.out.println("\n=== Verification Complete ===");
+        System.exit(passed ? 0 : 1);
+    }
+
+    private static boolean steadyLoad(int lookups) throws Exception {
+        System.out.println("\n--- steady load: " + lookups + " concurrent lookups ---");
+        mode = Mode.OK;
+        AdaptiveConcurrencyLimiter limiter = GroqApiService.getLimiter();
+        int limitBefore = limiter.getLimit();
+
+        int failed = awaitAll(lookupAll("steady", lookups));
+
+        boolean ok = true;
+        ok &= check(failed == 0, "every lookup succeeded (" + failed + " failed)");
+        ok &= check(maxInFlight.get() <= LIMITER_MAX,
+            "stub never saw more than groq.limiter.max in flight (max " + maxInFlight.get() + ")");
+        ok &= check(limiter.getLimit() > limitBefore,
+            "limit grew with successes (" + limitBefore + " -> " + limiter.getLimit() + ")");
+        ok &= check(limiter.getInFlight() == 0, "every permit released");
+        return ok;
+    }
+
+    private static boolean retryAfter(int lookups) throws Exception {
+        System.out.println("\n--- 429 with retry-after " + RETRY_AFTER_MILLIS + " ms: " + lookups + " lookups ---");
+        AdaptiveConcurrencyLimiter limiter = GroqApiService.getLimiter();
+        int limitBefore = limiter.getLimit();
+        long retriesBefore = GroqApiService.getRetryCount();
+        long throttledBefore = limiter.getThrottled();
+        arrivals.clear();
+        firstThrottleNanos = 0;
+        throttleUntilNanos = 0;
+        mode = Mode.THROTTLE;
+
+        List<CompletableFuture<CityData>> results = lookupAll("throttled", lookups);
+        int limitAfterThrottle = waitForLimitBelow(limitBefore);
+        int failed = awaitAll(results);
+        mode = Mode.OK;
+
+        // Requests already on the wire when the first 429 went out may still
+        // land just after it; after that, nothing until the pause is over
+        long quietFrom = firstThrottleNanos + TimeUnit.MILLISECONDS.toNanos(200);
+        long quietTo = firstThrottleNanos + TimeUnit.MILLISECONDS.toNanos(RETRY_AFTER_MILLIS - 100);
+        int duringPause = 0;
+        synchronized (arrivals) {
+            for (long arrival : arrivals) {
+                if (arrival > quietFrom && arrival < quietTo) {
+                    duringPause++;
+                }
+            }
+        }
+
+        boolean ok = true;
+        ok &= check(limiter.getThrottled() > throttledBefore,
+            "limiter recorded the throttling (" + (limiter.getThrottled() - throttledBefore) + " responses)");
+        ok &= check(limitAfterThrottle < limitBefore,
+            "limit was cut (" + limitBefore + " -> " + limitAfterThrottle + ")");
+        ok &= check(duringPause == 0, "no request sent during the retry-after pause (" + duringPause + " sent)");
+        ok &= check(GroqApiService.getRetryCount() > retriesBefore,
+            "throttled requests were retried (" + (GroqApiService.getRetryCount() - retriesBefore) + " retries)");
+        ok &= check(failed == 0, "every lookup succeeded after retrying (" + failed + " failed)");
+        ok &= check(limiter.getInFlight() == 0, "every permit released");
+        return ok;
+    }
+
+    private static boolean rateLimitReset() throws Exception {
+        System.out.println("\n--- x-ratelimit-remaining-requests: 0, reset " + RESET_MILLIS + " ms ---");
+        AdaptiveConcurrencyLimiter limiter = GroqApiService.getLimiter();
+        long pausesBefore = limiter.getPauses();
+        mode = Mode.RESET_ONCE;
+
+        GroqApiService.getCityInformation("reset-first").get(30, TimeUnit.SECONDS);
+        long answered = System.nanoTime();
+        arrivals.clear();
+        GroqApiService.getCityInformation("reset-second").get(30, TimeUnit.SECONDS);
+        long waitedMillis = arrivals.isEmpty() ? -1 : TimeUnit.NANOSECONDS.toMillis(arrivals.get(0) - answered);
+
+        boolean ok = true;
+        ok &= check(limiter.getPauses() > pausesBefore, "exhausted budget paused dispatch");
+        ok &= check(waitedMillis >= RESET_MILLIS - 100,
+            "next request waited for the reset (" + waitedMillis + " ms)");
+        return ok;
+    }
+
+    private static boolean unavailable() throws Exception {
+        System.out.println("\n--- 503 on every attempt ---");
+        arrivals.clear();
+        mode = Mode.UNAVAILABLE;
+
+        String error = null;
+        try {
+            GroqApiService.getCityInformation("unavailable").get(60, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            error = e.getCause().getMessage();
+        }
+        mode = Mode.OK;
+
+        boolean ok = true;
+        ok &= check(error != null && error.contains("after " + (MAX_RETRIES + 1) + " attempts"),
+            "lookup failed after groq.max.retries retries (" + error + ")");
+        ok &= check(arrivals.size() == MAX_RETRIES + 1, "stub saw " + arrivals.size() + " attempts");
+        ok &= check(GroqApiService.getLimiter().getInFlight() == 0, "every permit released");
+        return ok;
+    }
+
+    private static List<CompletableFuture<CityData>> lookupAll(String prefix, int count) {
+        List<CompletableFuture<CityData>> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            results.add(GroqApiService.getCityInformation(prefix + "-" + i));
+        }
+        return results;
+    }
+
+    private static int awaitAll(List<CompletableFuture<CityData>> results) throws InterruptedException {
+        int failed = 0;
+        for (CompletableFuture<CityData> result : results) {
+            try {
+                result.get(60, TimeUnit.SECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                failed++;
+                System.err.println("Lookup failed: " + e);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Lowest limit seen while the first throttled responses come back
+     */
+    private static int waitForLimitBelow(int limit) throws InterruptedException {
+        AdaptiveConcurrencyLimiter limiter = GroqApiService.getLimiter();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        int lowest = limiter.getLimit();
+        while (lowest >= limit && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            lowest = Math.min(lowest, limiter.getLimit());
+        }
+        return lowest;
+    }
+
+    private static boolean check(boolean condition, String description) {
+        System.out.println((condition ? "  ok   " : "  FAIL ") + description);
+        return condition;
+    }
+
+    private static HttpServer startStub() throws IOException {
+        // Keeps Nagle and delayed ACKs from skewing arrival times on reused connections
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        byte[] answer = ("{\"id\":\"chatcmpl-stub\",\"object\":\"chat.completion\",\"choices\":[{\"index\":0,"
+            + "\"message\":{\"role\":\"assistant\",\"content\":\"{\\\"city\\\":\\\"Stub City\\\",\\\"country\\\":\\\"Nowhere\\\","
+            + "\\\"touristSpots\\\":[\\\"Square\\\"]}\"},\"finish_reason\":\"stop\"}],"
+            + "\"usage\":{\"prompt_tokens\":10,\"completion_tokens\":20,\"total_tokens\":30}}")
+            .getBytes(StandardCharsets.UTF_8);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 256);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/chat", exchange -> {
+            long now = System.nanoTime();
+            arrivals.add(now);
+            int current = inFlight.incrementAndGet();
+            maxInFlight.accumulateAndGet(current, Math::max);
+            try (InputStream request = exchange.getRequestBody()) {
+                request.readAllBytes();
+                respond(exchange, now, answer);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, long arrival, byte[] answer) throws IOException, InterruptedException {
+        switch (mode) {
+            case THROTTLE:
+                synchronized (VerifyGroqThrottling.class) {
+                    if (firstThrottleNanos == 0) {
+                        firstThrottleNanos = arrival;
+                        throttleUntilNanos = arrival + TimeUnit.MILLISECONDS.toNanos(RETRY_AFTER_MILLIS);
+                    }
+                }
+                if (arrival < throttleUntilNanos) {
+                    exchange.getResponseHeaders().set("retry-after", String.valueOf(RETRY_AFTER_MILLIS / 1000));
+                    exchange.sendResponseHeaders(429, -1);
+                    return;
+                }
+                break;
+            case RESET_ONCE:
+                exchange.getResponseHeaders().set("x-ratelimit-remaining-requests", "0");
+                exchange.getResponseHeaders().set("x-ratelimit-reset-requests", RESET_MILLIS + "ms");
+                mode = Mode.OK;
+                break;
+            case UNAVAILABLE:
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            default:
+                break;
+        }
+
+        // A little service time so concurrent lookups overlap
+        Thread.sleep(20);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, answer.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(answer);
+        }
+    }
+}
\ No newline at end of file
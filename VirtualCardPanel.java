@@ -0,0 +1,299 @@
+package frontend;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Card grid that only builds and lays out the cards it can show
+ * Cards are described up front (renderer, model, column span, height), so
+ * the grid's size is known without creating any components. Only cards that
+ * intersect the visible area, plus one screen of overscan, are realised; the
+ * rest are built lazily as they are scrolled towards.
+ *
+ * Cards from a CardRenderer are recycled the way JList recycles cells: a
+ * card scrolled out of view goes back to its renderer's pool and is bound to
+ * the next model that comes into view. Cards added with addLazy are one-offs,
+ * built on first sight and kept, detached, while off screen.
+ *
+ * Must be used from the EDT.
+ */
+public class VirtualCardPanel extends JPanel {
+
+    /**
+     * Builds recyclable cards and fills them with a model
+     */
+    public interface CardRenderer<T> {
+        JComponent create();
+
+        void bind(JComponent card, T model);
+    }
+
+    private static class CardSpec {
+        final CardRenderer<Object> renderer;
+        final Object model;
+        final Supplier<JComponent> builder;
+        final int span;
+        final int height;
+
+        CardSpec(CardRenderer<Object> renderer, Object model, Supplier<JComponent> builder, int span, int height) {
+            this.renderer = renderer;
+            this.model = model;
+            this.builder = builder;
+            this.span = span;
+            this.height = height;
+        }
+    }
+
+    private final int columns;
+    private final int cardWidth;
+    private final int hgap;
+    private final int vgap;
+
+    private final List<CardSpec> cards = new ArrayList<>();
+    // Card index -> component currently in the panel
+    private final Map<Integer, JComponent> realized = new HashMap<>();
+    // Built one-off cards, kept while detached
+    private final Map<Integer, JComponent> lazyBuilt = new HashMap<>();
+    private final Map<CardRenderer<Object>, ArrayDeque<JComponent>> pools = new IdentityHashMap<>();
+
+    private JViewport viewport;
+    private final javax.swing.event.ChangeListener scrollListener = e -> realizeVisible();
+
+    private int created;
+    private int binds;
+
+    public VirtualCardPanel(int columns, int cardWidth, int hgap, int vgap) {
+        super(null);
+        this.columns = columns;
+        this.cardWidth = cardWidth;
+        this.hgap = hgap;
+        this.vgap = vgap;
+    }
+
+    /**
+     * Adds a recyclable card; span is the number of columns it covers
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void addCard(CardRenderer<T> renderer, T model, int span, int height) {
+        cards.add(new CardSpec((CardRenderer<Object>) renderer, model, null, clampSpan(span), height));
+        revalidate();
+    }
+
+    /**
+     * Replaces the card at index, or appends it when index is the card
+     * count. A realised card from the same renderer is rebound in place,
+     * so content that is refreshed repeatedly, such as a streamed result,
+     * reuses its components.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void setCard(int index, CardRenderer<T> renderer, T model, int span, int height) {
+        CardSpec spec = new CardSpec((CardRenderer<Object>) renderer, model, null, clampSpan(span), height);
+        if (index == cards.size()) {
+            cards.add(spec);
+        } else {
+            CardSpec previous = cards.set(index, spec);
+            JComponent component = realized.get(index);
+            if (component != null && previous.renderer != null && previous.renderer == spec.renderer) {
+                spec.renderer.bind(component, model);
+                binds++;
+            } else {
+                if (component != null) {
+                    release(index, component, previous);
+                }
+                lazyBuilt.remove(index);
+            }
+        }
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Drops the cards from index on; their components go back to the pools
+     */
+    public void removeCardsFrom(int index) {
+        for (int i = cards.size() - 1; i >= index; i--) {
+            JComponent component = realized.get(i);
+            if (component != null) {
+                release(i, component, cards.get(i));
+            }
+            lazyBuilt.remove(i);
+            cards.remove(i);
+        }
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Adds a one-off card, built the first time it comes into view
+     */
+    public void addLazy(Supplier<JComponent> builder, int span, int height) {
+        cards.add(new CardSpec(null, null, builder, clampSpan(span), height));
+        revalidate();
+    }
+
+    public int getCardCount() {
+        return cards.size();
+    }
+
+    public int getRealizedCount() {
+        return realized.size();
+    }
+
+    private int clampSpan(int span) {
+        return Math.max(1, Math.min(columns, span));
+    }
+
+    @Override
+    public void removeNotify() {
+        if (viewport != null) {
+            viewport.removeChangeListener(scrollListener);
+            viewport = null;
+        }
+        super.removeNotify();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        int width = columns * cardWidth + (columns - 1) * hgap;
+        return new Dimension(width + insets.left + insets.right, layoutRows(null) + insets.bottom);
+    }
+
+    @Override
+    public void doLayout() {
+        // Follow the enclosing viewport, which may change as the panel is moved
+        JViewport current = (JViewport) SwingUtilities.getAncestorOfClass(JViewport.class, this);
+        if (current != viewport) {
+            if (viewport != null) {
+                viewport.removeChangeListener(scrollListener);
+            }
+            viewport = current;
+            if (viewport != null) {
+                viewport.addChangeListener(scrollListener);
+            }
+        }
+        realizeVisible();
+    }
+
+    /**
+     * Places the cards in rows, filling bounds (when given) with each card's
+     * rectangle; returns the bottom of the last row
+     */
+    private int layoutRows(Rectangle[] bounds) {
+        Insets insets = getInsets();
+        int available = bounds == null ? columns * cardWidth + (columns - 1) * hgap
+            : Math.max(0, getWidth() - insets.left - insets.right);
+        int columnWidth = (available - (columns - 1) * hgap) / columns;
+
+        int y = insets.top;
+        int column = 0;
+        int rowHeight = 0;
+        for (int i = 0; i < cards.size(); i++) {
+            CardSpec card = cards.get(i);
+            if (column + card.span > columns) {
+                y += rowHeight + vgap;
+                column = 0;
+                rowHeight = 0;
+            }
+            int height = card.height;
+            JComponent component = realized.get(i);
+            if (component != null) {
+                // Honour a realised card that asks for more, e.g. while hovered
+                height = Math.max(height, component.getPreferredSize().height);
+            }
+            if (bounds != null) {
+                int x = insets.left + column * (columnWidth + hgap);
+                bounds[i] = new Rectangle(x, y, card.span * columnWidth + (card.span - 1) * hgap, height);
+            }
+            rowHeight = Math.max(rowHeight, height);
+            column += card.span;
+        }
+        return y + rowHeight;
+    }
+
+    /**
+     * Realises the cards near the visible area and releases the others
+     */
+    private void realizeVisible() {
+        Rectangle[] bounds = new Rectangle[cards.size()];
+        layoutRows(bounds);
+
+        Rectangle visible = getVisibleRect();
+        int overscan = Math.max(visible.height, 200);
+        int windowTop = visible.y - overscan;
+        int windowBottom = visible.y + visible.height + overscan;
+
+        boolean changed = false;
+        for (int i = 0; i < cards.size(); i++) {
+            boolean wanted = bounds[i].y < windowBottom && bounds[i].y + bounds[i].height > windowTop;
+            JComponent component = realized.get(i);
+            if (wanted && component == null) {
+                component = realize(i);
+                changed = true;
+            } else if (!wanted && component != null) {
+                release(i, component, cards.get(i));
+                changed = true;
+                continue;
+            }
+            if (component != null && !bounds[i].equals(component.getBounds())) {
+                component.setBounds(bounds[i]);
+                // Lays the card out now when called from a scroll, outside a validation pass
+                component.validate();
+            }
+        }
+        if (changed) {
+            repaint();
+        }
+    }
+
+    private JComponent realize(int index) {
+        CardSpec card = cards.get(index);
+        JComponent component;
+        if (card.renderer != null) {
+            ArrayDeque<JComponent> pool = pools.get(card.renderer);
+            component = pool == null ? null : pool.poll();
+            if (component == null) {
+                component = card.renderer.create();
+                created++;
+            }
+            card.renderer.bind(component, card.model);
+            binds++;
+        } else {
+            component = lazyBuilt.get(index);
+            if (component == null) {
+                component = card.builder.get();
+                lazyBuilt.put(index, component);
+                created++;
+            }
+        }
+        realized.put(index, component);
+        add(component);
+        return component;
+    }
+
+    private void release(int index, JComponent component, CardSpec card) {
+        realized.remove(index);
+        remove(component);
+        if (card.renderer != null) {
+            pools.computeIfAbsent(card.renderer, r -> new ArrayDeque<>()).push(component);
+        }
+    }
+
+    public String getStats() {
+        return "VirtualCardPanel{cards=" + cards.size() +
+                ", realized=" + realized.size() +
+                ", created=" + created +
+                ", binds=" + binds +
+                '}';
+    }
+}
\ No newline at end of file
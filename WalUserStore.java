@@ -0,0 +1,701 @@
+package backend;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe user store: write-ahead log plus snapshot, with an in-memory
+ * email index
+ *
+ * Every change is one checksummed record appended to the current log
+ * file, users-<gen>.wal. When the log grows past a threshold, a new
+ * generation is started and the state up to that point is written in the
+ * background to snapshot-<gen>.dat, after which older files are deleted.
+ * On startup the newest snapshot is loaded and the logs from its
+ * generation on are replayed; a record torn by a crash fails its checksum
+ * and is cut off.
+ *
+ * Durability follows the SyncPolicy: ALWAYS fsyncs every append, GROUP
+ * lets concurrent appenders share one fsync and returns once it is done,
+ * INTERVAL fsyncs in the background and may lose the last interval.
+ * Under GROUP a user becomes visible to lookups only once its record is
+ * durable, so a signup whose fsync fails is not left half-registered. A
+ * failed write is cut back out of the log, so records acknowledged after
+ * it cannot end up behind a torn one that recovery stops at.
+ */
+public class WalUserStore implements UserRepository {
+
+    public enum SyncPolicy {
+        ALWAYS,
+        GROUP,
+        INTERVAL
+    }
+
+    private static final byte OP_PUT = 1;
+    private static final int RECORD_HEADER_BYTES = 8;
+    // Far beyond any real record; a larger length means the header is garbage
+    private static final int MAX_RECORD_BYTES = 1 << 20;
+
+    private final Path directory;
+    private final Path legacyFile;
+    private final SyncPolicy syncPolicy;
+    // INTERVAL: time between fsyncs. GROUP: how long an fsync waits for
+    // more appenders to join it.
+    private final long syncIntervalMillis;
+    private final long compactThresholdBytes;
+
+    // Durable users (under GROUP; every written user otherwise)
+    private final ConcurrentHashMap<String, User> byEmail = new ConcurrentHashMap<>();
+    private volatile boolean opened;
+
+    // Guarded by writeLock
+    private final Object writeLock = new Object();
+    private FileChannel wal;
+    private long generation;
+    private long walBytes;
+    private long writtenSeq;
+    // Written but not yet durable, oldest first, and the newest such user
+    // per email so add() still sees a signup that is waiting on its fsync
+    private final ArrayDeque<Append> unsynced = new ArrayDeque<>();
+    private final Map<String, User> pendingByEmail = new HashMap<>();
+    // Set when a failed write could not be cut back out of the log
+    private IOException logDamaged;
+
+    // Guarded by syncMonitor
+    private final Object syncMonitor = new Object();
+    private long requestedSeq;
+    private long syncedSeq;
+    private IOException syncError;
+    private boolean closed;
+
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private ExecutorService compactor;
+    private Thread syncer;
+
+    /**
+     * One appendRecords call; published once its records are durable
+     */
+    private static class Append {
+        final long seq;
+        final Collection<User> users;
+        boolean published;
+
+        Append(long seq, Collection<User> users) {
+            this.seq = seq;
+            this.users = users;
+        }
+    }
+
+    public WalUserStore(Path directory, Path legacyFile, SyncPolicy syncPolicy,
+                        long syncIntervalMillis, long compactThresholdBytes) {
+        this.directory = directory;
+        this.legacyFile = legacyFile;
+        this.syncPolicy = syncPolicy;
+        this.syncIntervalMillis = syncIntervalMillis;
+        this.compactThresholdBytes = compactThresholdBytes;
+    }
+
+    @Override
+    public User findByEmail(String email) {
+        ensureOpen();
+        return email == null ? null : byEmail.get(email);
+    }
+
+    /**
+     * Adds the user unless one with the same email already exists.
+     * Returns false, without writing anything, if the email is taken.
+     */
+    @Override
+    public boolean add(User user) {
+        ensureOpen();
+        Append append;
+        synchronized (writeLock) {
+            if (isTaken(user.getEmail())) {
+                return false;
+            }
+            append = appendRecords(Collections.singletonList(user));
+        }
+        awaitDurable(append);
+        maybeCompact();
+        return true;
+    }
+
+    @Override
+    public int addAll(List<User> users) {
+        ensureOpen();
+        Append append;
+        int added;
+        synchronized (writeLock) {
+            Map<String, User> fresh = new LinkedHashMap<>();
+            for (User user : users) {
+                if (!isTaken(user.getEmail())) {
+                    fresh.putIfAbsent(user.getEmail(), user);
+                }
+            }
+            if (fresh.isEmpty()) {
+                return 0;
+            }
+            append = appendRecords(new ArrayList<>(fresh.values()));
+            added = fresh.size();
+        }
+        awaitDurable(append);
+        maybeCompact();
+        return added;
+    }
+
+    /**
+     * Adds or replaces the user's record
+     */
+    @Override
+    public void put(User user) {
+        ensureOpen();
+        Append append;
+        synchronized (writeLock) {
+            append = appendRecords(Collections.singletonList(user));
+        }
+        awaitDurable(append);
+        maybeCompact();
+    }
+
+    /**
+     * Replaces the whole store with the given users, written straight to
+     * a new snapshot
+     */
+    @Override
+    public void replaceAll(List<User> users) {
+        ensureOpen();
+        Map<String, User> latest = new LinkedHashMap<>();
+        for (User user : users) {
+            latest.put(user.getEmail(), user);
+        }
+
+        synchronized (writeLock) {
+            try {
+                long snapshotGen = rotate();
+                writeSnapshot(snapshotGen, latest.values());
+                deleteBefore(snapshotGen);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error saving users", e);
+            }
+            byEmail.clear();
+            byEmail.putAll(latest);
+        }
+    }
+
+    @Override
+    public List<User> getAll() {
+        ensureOpen();
+        return new ArrayList<>(byEmail.values());
+    }
+
+    @Override
+    public int size() {
+        ensureOpen();
+        return byEmail.size();
+    }
+
+    /**
+     * Flushes outstanding appends and stops the background threads
+     */
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            if (!opened) {
+                return;
+            }
+            try {
+                wal.force(false);
+                publishUnsynced(writtenSeq);
+                wal.close();
+            } catch (IOException e) {
+                System.err.println("Error closing user log: " + e.getMessage());
+            }
+        }
+
+        synchronized (syncMonitor) {
+            closed = true;
+            syncedSeq = requestedSeq;
+            syncMonitor.notifyAll();
+        }
+        compactor.shutdown();
+    }
+
+    private void ensureOpen() {
+        if (!opened) {
+            synchronized (writeLock) {
+                if (!opened) {
+                    open();
+                    opened = true;
+                }
+            }
+        }
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error opening user log in " + directory, e);
+        }
+
+        compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-log-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (syncPolicy != SyncPolicy.ALWAYS) {
+            syncer = new Thread(this::syncLoop, "user-log-sync");
+            syncer.setDaemon(true);
+            syncer.start();
+        }
+    }
+
+    // ---- Recovery ----
+
+    private void recover() throws IOException {
+        TreeSet<Long> snapshots = listGenerations("snapshot-", ".dat");
+        TreeSet<Long> logs = listGenerations("users-", ".wal");
+
+        if (snapshots.isEmpty() && logs.isEmpty() && legacyFile != null && Files.exists(legacyFile)) {
+            migrateLegacyFile();
+            return;
+        }
+
+        // Newest snapshot that reads back cleanly; older ones are only left
+        // behind by an interrupted compaction
+        long base = 0;
+        for (Long gen : snapshots.descendingSet()) {
+            Map<String, User> state = new HashMap<>();
+            if (readRecords(snapshotFile(gen), state) == Files.size(snapshotFile(gen))) {
+                byEmail.putAll(state);
+                base = gen;
+                break;
+            }
+            System.err.println("Ignoring damaged user snapshot " + snapshotFile(gen));
+        }
+
+        long current = base;
+        for (Long gen : logs.tailSet(base, true)) {
+            Path log = walFile(gen);
+            long valid = readRecords(log, byEmail);
+            if (valid < Files.size(log)) {
+                // Torn or corrupt tail from a crash mid-append
+                System.err.println("Truncating user log " + log + " at byte " + valid);
+                try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                    channel.truncate(valid);
+                    channel.force(true);
+                }
+            }
+            current = gen;
+        }
+
+        openWal(current);
+        deleteBefore(base);
+    }
+
+    private void migrateLegacyFile() throws IOException {
+        List<User> users = new IndexedUserStore(legacyFile).getAll();
+        writeSnapshot(1, users);
+        for (User user : users) {
+            byEmail.put(user.getEmail(), user);
+        }
+        openWal(1);
+        System.out.println("Imported " + users.size() + " users from " + legacyFile + " into " + directory);
+    }
+
+    /**
+     * Applies every intact record in the file to state and returns the
+     * length of the intact prefix
+     */
+    private static long readRecords(Path file, Map<String, User> state) throws IOException {
+        long valid = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return valid;
+                }
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    return valid;
+                }
+
+                byte[] payload = new byte[length];
+                int checksum;
+                try {
+                    checksum = in.readInt();
+                    in.readFully(payload);
+                } catch (EOFException e) {
+                    return valid;
+                }
+
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    return valid;
+                }
+
+                User user = decode(payload);
+                if (user == null) {
+                    return valid;
+                }
+                state.put(user.getEmail(), user);
+                valid += RECORD_HEADER_BYTES + length;
+            }
+        }
+    }
+
+    // ---- Appending ----
+
+    /**
+     * Writes the records to the log in one write; caller holds writeLock.
+     * If the write fails, the log is cut back to where it was. Returns the
+     * append to wait on for durability.
+     */
+    private Append appendRecords(Collection<User> users) {
+        if (logDamaged != null) {
+            throw new UncheckedIOException("User log could not be repaired after a failed write; reopen the store", logDamaged);
+        }
+        ByteBuffer[] records = new ByteBuffer[users.size()];
+        int i = 0;
+        long remaining = 0;
+        for (User user : users) {
+            records[i] = encode(user);
+            remaining += records[i++].remaining();
+        }
+
+        long start = walBytes;
+        try {
+            while (remaining > 0) {
+                long written = wal.write(records);
+                walBytes += written;
+                remaining -= written;
+            }
+            if (syncPolicy == SyncPolicy.ALWAYS) {
+                wal.force(false);
+            }
+        } catch (IOException e) {
+            discardFrom(start);
+            throw new UncheckedIOException("Error appending to user log", e);
+        }
+
+        Append append = new Append(++writtenSeq, users);
+        if (syncPolicy == SyncPolicy.GROUP) {
+            unsynced.add(append);
+            for (User user : users) {
+                pendingByEmail.put(user.getEmail(), user);
+            }
+        } else {
+            // ALWAYS has just forced; INTERVAL never waits for the disk
+            publish(append);
+        }
+        return append;
+    }
+
+    /**
+     * Truncates a partly written append away, so later records are not
+     * stranded behind a torn one; caller holds writeLock
+     */
+    private void discardFrom(long start) {
+        try {
+            wal.truncate(start);
+            walBytes = start;
+        } catch (IOException e) {
+            // Anything appended after the torn bytes would be lost on recovery
+            logDamaged = e;
+            System.err.println("Error cutting failed append out of user log: " + e.getMessage());
+        }
+    }
+
+    private boolean isTaken(String email) {
+        return byEmail.containsKey(email) || pendingByEmail.containsKey(email);
+    }
+
+    /**
+     * Makes appends up to seq visible, oldest first; caller holds writeLock
+     */
+    private void publishUnsynced(long seq) {
+        while (!unsynced.isEmpty() && unsynced.peek().seq <= seq) {
+            publish(unsynced.poll());
+        }
+    }
+
+    private void publish(Append append) {
+        append.published = true;
+        for (User user : append.users) {
+            byEmail.put(user.getEmail(), user);
+            pendingByEmail.remove(user.getEmail(), user);
+        }
+    }
+
+    private void awaitDurable(Append append) {
+        if (syncPolicy != SyncPolicy.GROUP) {
+            return;
+        }
+
+        long seq = append.seq;
+        IOException error = null;
+        synchronized (syncMonitor) {
+            if (seq > requestedSeq) {
+                requestedSeq = seq;
+                syncMonitor.notifyAll();
+            }
+            boolean interrupted = false;
+            while (syncedSeq < seq && syncError == null && !closed) {
+                try {
+                    syncMonitor.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (syncedSeq < seq && syncError != null) {
+                error = syncError;
+            }
+        }
+        if (error == null) {
+            return;
+        }
+
+        synchronized (writeLock) {
+            // A rotation or a later fsync may have made it durable meanwhile
+            if (append.published) {
+                return;
+            }
+            unsynced.remove(append);
+            for (User user : append.users) {
+                pendingByEmail.remove(user.getEmail(), user);
+            }
+        }
+        throw new UncheckedIOException("Error syncing user log", error);
+    }
+
+    private void syncLoop() {
+        while (true) {
+            synchronized (syncMonitor) {
+                try {
+                    if (syncPolicy == SyncPolicy.GROUP) {
+                        while (requestedSeq <= syncedSeq && !closed) {
+                            syncMonitor.wait();
+                        }
+                    } else {
+                        syncMonitor.wait(syncIntervalMillis);
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (closed) {
+                    return;
+                }
+            }
+
+            if (syncPolicy == SyncPolicy.GROUP && syncIntervalMillis > 0) {
+                // Give appenders that are about to arrive a chance to share this fsync
+                try {
+                    Thread.sleep(syncIntervalMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+
+            FileChannel channel;
+            long target;
+            synchronized (writeLock) {
+                channel = wal;
+                target = writtenSeq;
+            }
+            synchronized (syncMonitor) {
+                if (target <= syncedSeq) {
+                    // Nothing appended since the last fsync or rotation
+                    continue;
+                }
+            }
+
+            IOException error = null;
+            try {
+                // Outside writeLock so appends carry on while the disk syncs
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // Rotated or closed meanwhile, which forces the old log itself
+            } catch (IOException e) {
+                error = e;
+                System.err.println("Error syncing user log: " + e.getMessage());
+            }
+
+            if (error == null) {
+                synchronized (writeLock) {
+                    publishUnsynced(target);
+                }
+            }
+            synchronized (syncMonitor) {
+                if (error == null) {
+                    syncedSeq = Math.max(syncedSeq, target);
+                    syncError = null;
+                } else {
+                    syncError = error;
+                }
+                syncMonitor.notifyAll();
+            }
+        }
+    }
+
+    // ---- Compaction ----
+
+    private void maybeCompact() {
+        boolean due;
+        synchronized (writeLock) {
+            due = walBytes >= compactThresholdBytes;
+        }
+        if (due && compacting.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Error compacting user log: " + e.getMessage());
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    private void compact() throws IOException {
+        long snapshotGen;
+        List<User> state;
+        synchronized (writeLock) {
+            // Everything in the logs before the new generation is in byEmail now
+            snapshotGen = rotate();
+            state = new ArrayList<>(byEmail.values());
+        }
+
+        writeSnapshot(snapshotGen, state);
+        deleteBefore(snapshotGen);
+    }
+
+    /**
+     * Closes the current log and starts the next generation; caller holds
+     * writeLock. Returns the new generation.
+     */
+    private long rotate() throws IOException {
+        wal.force(false);
+        // Forced, so everything written so far can be seen, and snapshotted
+        publishUnsynced(writtenSeq);
+        wal.close();
+        openWal(generation + 1);
+        return generation;
+    }
+
+    private void openWal(long gen) throws IOException {
+        wal = FileChannel.open(walFile(gen), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        generation = gen;
+        walBytes = wal.size();
+    }
+
+    private void writeSnapshot(long gen, Collection<User> users) throws IOException {
+        Path temp = Files.createTempFile(directory, "snapshot", ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            for (User user : users) {
+                ByteBuffer record = encode(user);
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+            channel.force(true);
+        }
+        Files.move(temp, snapshotFile(gen), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory();
+    }
+
+    private void deleteBefore(long gen) throws IOException {
+        for (Long old : listGenerations("snapshot-", ".dat").headSet(gen)) {
+            Files.deleteIfExists(snapshotFile(old));
+        }
+        for (Long old : listGenerations("users-", ".wal").headSet(gen)) {
+            Files.deleteIfExists(walFile(old));
+        }
+    }
+
+    private void syncDirectory() {
+        // Makes the rename durable; not supported on every platform
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Best effort
+        }
+    }
+
+    // ---- Files and records ----
+
+    private TreeSet<Long> listGenerations(String prefix, String suffix) throws IOException {
+        TreeSet<Long> generations = new TreeSet<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        return generations;
+    }
+
+    private Path walFile(long gen) {
+        return directory.resolve(String.format("users-%010d.wal", gen));
+    }
+
+    private Path snapshotFile(long gen) {
+        return directory.resolve(String.format("snapshot-%010d.dat", gen));
+    }
+
+    private static ByteBuffer encode(User user) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(OP_PUT);
+            out.writeUTF(nullToEmpty(user.getEmail()));
+            out.writeUTF(nullToEmpty(user.getPassword()));
+            out.writeUTF(nullToEmpty(user.getName()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        byte[] payload = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_BYTES + payload.length);
+        record.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        record.flip();
+        return record;
+    }
+
+    private static User decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            if (in.readByte() != OP_PUT) {
+                return null;
+            }
+            return new User(in.readUTF(), in.readUTF(), in.readUTF());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package frontend;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Read-only multi-line text drawn from a pre-wrapped CityViewModel.TextBlock
+ * Much cheaper to create and lay out than a wrapping JTextArea. If the label
+ * ends up a different width than the block was wrapped for, it rewraps once
+ * for the new width; inside a scroll pane it follows the viewport's width.
+ */
+public class WrappedTextLabel extends JComponent implements Scrollable {
+
+    private CityViewModel.TextBlock block;
+    private List<String> lines;
+    private int linesWidth;
+
+    public WrappedTextLabel(CityViewModel.TextBlock block) {
+        setText(block);
+    }
+
+    public void setText(CityViewModel.TextBlock block) {
+        this.block = block;
+        this.lines = block.lines;
+        this.linesWidth = block.wrapWidth;
+        setFont(block.font);
+        setForeground(block.color);
+        revalidate();
+        repaint();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        Insets insets = getInsets();
+        return new Dimension(block.wrapWidth + insets.left + insets.right,
+            lines.size() * block.lineHeight + insets.top + insets.bottom);
+    }
+
+    @Override
+    public Dimension getMaximumSize() {
+        return new Dimension(Integer.MAX_VALUE, getPreferredSize().height);
+    }
+
+    @Override
+    public void setBounds(int x, int y, int width, int height) {
+        super.setBounds(x, y, width, height);
+        Insets insets = getInsets();
+        int textWidth = width - insets.left - insets.right;
+        if (textWidth > 0 && textWidth != linesWidth) {
+            int oldCount = lines.size();
+            lines = CityViewModel.wrap(block.text, block.font, textWidth);
+            linesWidth = textWidth;
+            if (lines.size() != oldCount) {
+                revalidate();
+            }
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setFont(block.font);
+        g2d.setColor(getForeground());
+        Insets insets = getInsets();
+        int ascent = g2d.getFontMetrics().getAscent();
+        int y = insets.top + ascent;
+        for (String line : lines) {
+            g2d.drawString(line, insets.left, y);
+            y += block.lineHeight;
+        }
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return block.lineHeight;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.VERTICAL ? visibleRect.height : visibleRect.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+}
\ No newline at end of file